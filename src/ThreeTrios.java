@@ -13,6 +13,7 @@ import customer.controller.HumanController;
 import customer.gamefeatures.BattleType;
 import customer.gamefeatures.IPlayer;
 import customer.gamefeatures.ModType;
+import customer.model.ConcurrentThreeTriosModel;
 import customer.model.ThreeTriosGameModel;
 import customer.model.ThreeTriosModel;
 import customer.strategiccomputerplayer.CornerStrategy;
@@ -30,7 +31,8 @@ public final class ThreeTrios {
    * @param args Any input given to the console.
    */
   public static void main(String[] args) {
-    ThreeTriosModel model = new ThreeTriosGameModel();
+    // the game loop, the view and the AI all use the model, so it is made safe to share
+    ConcurrentThreeTriosModel model = new ConcurrentThreeTriosModel(new ThreeTriosGameModel());
     // Ensure that the currentPlayerMoved is initially false
     System.out.println("In-game: Press H to toggle hints, to see how many of the cards on the\n " +
             "board the player can flip, which shows if and only if a card is selected in their\n " +
@@ -74,6 +76,7 @@ public final class ThreeTrios {
             "src\\customer\\ConstructorFiles\\CardFile_6",
             false
     );
+    model.setVariant(bt, mt);
     model.setCurrentPlayerMoved(false);
     // Create a single GameBoard instance
     GameBoard sharedView = new GameBoard(model, bt, mt);
@@ -109,9 +112,8 @@ public final class ThreeTrios {
     // Make the game window visible
     SwingUtilities.invokeLater(() -> gameFrame.setVisible(true));
 
-    // Start the game loop in a separate thread to avoid blocking the EDT
-    new Thread(() -> startGameLoop(model, controller1, controller2, currentPlayerLabel,
-            sharedView)).start();
+    // Start the game loop, every turn is chained onto the end of the one before it
+    startGameLoop(model, controller1, controller2, currentPlayerLabel, sharedView);
   }
 
   /**
@@ -126,55 +128,57 @@ public final class ThreeTrios {
   private static void startGameLoop(ThreeTriosModel model, Controller controller1,
                                     Controller controller2, JLabel currentPlayerLabel,
                                     GameBoard sharedView) {
-    while (!model.isOver()) {
-      // Get the current player
-      String currentTurn = model.getCurrentPlayer();
-
-      // Execute the turn only if the current player hasn't moved yet
-      if (!model.hasCurrentPlayerMoved()) {
-        if (currentTurn.equals("RED")) {
-          System.out.println("Executing turn for player: RED");
-
-          // Set the grid panel's customer.provider.controller to controller1
-          SwingUtilities.invokeLater(() -> sharedView.getGridPanel().setController(controller1));
-          // Execute RED player's turn (AI)
-          // controller2.endTurn(); //this is not needed
-          // controller1.executeTurn();
-        } else if (currentTurn.equals("BLUE")) {
-          System.out.println("Executing turn for player: BLUE");
-
-          // Set the grid panel's customer.provider.controller to controller2
-          SwingUtilities.invokeLater(() -> sharedView.getGridPanel().setController(controller2));
-          // Execute BLUE player's turn (Human)
-          // controller1.endTurn(); this is not needed
-          // controller2.executeTurn();
-        }
+    if (model.isOver()) {
+      // Game over, display the winner
+      IPlayer winner = model.getWinner();
+      if (winner == null) {
+        JOptionPane.showMessageDialog(null, "Game Over! Tie game!");
+      } else {
+        JOptionPane.showMessageDialog(null, "Game Over! The winner is: " +
+                winner.getColor());
       }
+      return;
+    }
 
-      // Wait for the current player to make a move
-      waitForPlayerMove(model);
-
-      // After the player has made a move, switch to the next player
-      if (model.hasCurrentPlayerMoved()) {
-        model.switchToNextPlayer();
-        model.setCurrentPlayerMoved(false);
-        System.out.println("Next player's turn: " + model.getCurrentPlayer());
-        currentPlayerLabel.setText("Current Player: " + model.getCurrentPlayer());
-
-        // Update the game board customer.provider.view in the Event Dispatch Thread
-        SwingUtilities.invokeLater(() -> sharedView.updateGameBoard(model.getPlayerA(),
-                model.getPlayerB(), model));
+    // Get the current player
+    String currentTurn = model.getCurrentPlayer();
+
+    // Execute the turn only if the current player hasn't moved yet
+    if (!model.hasCurrentPlayerMoved()) {
+      if (currentTurn.equals("RED")) {
+        System.out.println("Executing turn for player: RED");
+
+        // Set the grid panel's customer.provider.controller to controller1
+        SwingUtilities.invokeLater(() -> sharedView.getGridPanel().setController(controller1));
+        // Execute RED player's turn (AI)
+        // controller2.endTurn(); //this is not needed
+        // controller1.executeTurn();
+      } else if (currentTurn.equals("BLUE")) {
+        System.out.println("Executing turn for player: BLUE");
+
+        // Set the grid panel's customer.provider.controller to controller2
+        SwingUtilities.invokeLater(() -> sharedView.getGridPanel().setController(controller2));
+        // Execute BLUE player's turn (Human)
+        // controller1.endTurn(); this is not needed
+        // controller2.executeTurn();
       }
     }
 
-    // Game over, display the winner
-    IPlayer winner = model.getWinner();
-    if (winner == null) {
-      JOptionPane.showMessageDialog(null, "Game Over! Tie game!");
-    } else {
-      JOptionPane.showMessageDialog(null, "Game Over! The winner is: " +
-              winner.getColor());
-    }
+    // As soon as the current player has made a move, switch to the next player.
+    // The next turn is run later on the Event Dispatch Thread rather than by the thread that
+    // made the move, so the label and the board are updated there and a turn that is already
+    // over does not call startGameLoop again deeper in the stack
+    model.getTurnCompletion().thenRunAsync(() -> {
+      model.switchToNextPlayer();
+      model.setCurrentPlayerMoved(false);
+      System.out.println("Next player's turn: " + model.getCurrentPlayer());
+      currentPlayerLabel.setText("Current Player: " + model.getCurrentPlayer());
+      sharedView.updateGameBoard(model.getPlayerA(), model.getPlayerB(), model);
+      startGameLoop(model, controller1, controller2, currentPlayerLabel, sharedView);
+    }, SwingUtilities::invokeLater).exceptionally(e -> {
+      System.err.println("The game loop stopped: " + e.getMessage());
+      return null;
+    });
   }
 
   /**
@@ -195,20 +199,4 @@ public final class ThreeTrios {
       System.out.println("Attempted to enable a null panel.");
     }
   }
-
-  /**
-   * Waits until the current player has made a move.
-   *
-   * @param model The game customer.provider.model.
-   */
-  private static void waitForPlayerMove(ThreeTriosModel model) {
-    while (!model.hasCurrentPlayerMoved()) {
-      try {
-        Thread.sleep(100); // Wait for the player to complete their move
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        throw new RuntimeException(e);
-      }
-    }
-  }
 }
@@ -1,9 +1,16 @@
 package customer.controller;
 
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import javax.swing.JOptionPane;
 
 import customer.gamefeatures.IPlayer;
 import customer.model.ThreeTriosModel;
+import customer.strategiccomputerplayer.AlphaBetaStrategy;
+import customer.strategiccomputerplayer.AnytimeStrategy;
 import customer.strategiccomputerplayer.Move;
 import customer.strategiccomputerplayer.Strategy;
 import customer.view.GameBoard;
@@ -16,6 +23,12 @@ public class AIController extends AbstractController {
   private final ThreeTriosModel model;
   private final Strategy strategy;
   private final IPlayer player;
+  private final long turnTimeMillis;
+  private final boolean ponder;
+  // the background search of the opponent's turn, null when not pondering
+  private ExecutorService ponderExecutor;
+  private AlphaBetaStrategy ponderer;
+  private Future<?> ponderTask;
 
   /**
    * Constructor for AIController.
@@ -26,11 +39,47 @@ public class AIController extends AbstractController {
    * @param strategy The strategy used by the AI to make decisions.
    */
   public AIController(GameBoard view, ThreeTriosModel model, IPlayer player, Strategy strategy) {
+    this(view, model, player, strategy, 0);
+  }
+
+  /**
+   * Constructor for AIController with a time limit for every turn. The time limit only applies
+   * to strategies that could be stopped at any time, the others search as long as they need.
+   *
+   * @param view           The game customer.provider.view associated with this AI player.
+   * @param model          The game customer.provider.model to interact with.
+   * @param player         The AI player controlled by this customer.provider.controller.
+   * @param strategy       The strategy used by the AI to make decisions.
+   * @param turnTimeMillis The time limit of a turn in milliseconds, 0 or less for no limit.
+   */
+  public AIController(GameBoard view, ThreeTriosModel model, IPlayer player, Strategy strategy,
+                      long turnTimeMillis) {
+    this(view, model, player, strategy, turnTimeMillis, false);
+  }
+
+  /**
+   * Constructor for AIController that could search during the opponent's turn. Pondering only
+   * applies to the AlphaBetaStrategy: after the AI moves, a copy of the model is searched for
+   * the opponent in the background, one move deeper than the strategy, sharing the same
+   * transposition table. The search of every position the opponent could move to is then in
+   * the table when the AI's turn comes, whatever the opponent plays.
+   *
+   * @param view           The game customer.provider.view associated with this AI player.
+   * @param model          The game customer.provider.model to interact with.
+   * @param player         The AI player controlled by this customer.provider.controller.
+   * @param strategy       The strategy used by the AI to make decisions.
+   * @param turnTimeMillis The time limit of a turn in milliseconds, 0 or less for no limit.
+   * @param ponder         Whether to search during the opponent's turn.
+   */
+  public AIController(GameBoard view, ThreeTriosModel model, IPlayer player, Strategy strategy,
+                      long turnTimeMillis, boolean ponder) {
     super(model);
     this.view = view;
     this.model = model;
     this.player = player;
     this.strategy = strategy;
+    this.turnTimeMillis = turnTimeMillis;
+    this.ponder = ponder && strategy instanceof AlphaBetaStrategy;
   }
 
   @Override
@@ -41,8 +90,15 @@ public class AIController extends AbstractController {
   @Override
   public void executeTurn() {
     System.out.println("AI (" + player.getColor() + ") executing turn");
+    stopPondering();
 
-    Move bestMove = strategy.getBestMove(player);
+    Move bestMove;
+    if (turnTimeMillis > 0 && strategy instanceof AnytimeStrategy) {
+      long deadline = System.nanoTime() + turnTimeMillis * 1_000_000L;
+      bestMove = ((AnytimeStrategy) strategy).getBestMove(player, deadline);
+    } else {
+      bestMove = strategy.getBestMove(player);
+    }
     System.out.println("AI (" + player.getColor() + ") selected move: " + bestMove);
 
     if (bestMove != null) {
@@ -61,6 +117,7 @@ public class AIController extends AbstractController {
 
         System.out.println(
                 "AI (" + player.getColor() + ") successfully played at (" + row + ", " + col + ")");
+        startPondering();
       } catch (IllegalArgumentException e) {
         System.err.println(
                 "AI (" + player.getColor() + ") failed to place card: " + e.getMessage());
@@ -83,6 +140,52 @@ public class AIController extends AbstractController {
     System.out.println("AI (" + player.getColor() + ") ending turn");
   }
 
+  /**
+   * Start searching the opponent's turn on a copy of the model in the background.
+   */
+  private void startPondering() {
+    if (!ponder || model.isOver()) {
+      return;
+    }
+    // the copy is made here, before the opponent could change the model
+    ThreeTriosModel copy = model.copyGameModel();
+    IPlayer opponent = player.getColor().equals("RED") ? copy.getPlayerB() : copy.getPlayerA();
+    if (opponent.getHand().isEmpty()) {
+      return;
+    }
+    AlphaBetaStrategy alphaBeta = (AlphaBetaStrategy) strategy;
+    ponderer = alphaBeta.withModel(copy, alphaBeta.getDepth() + 1);
+    if (ponderExecutor == null) {
+      ponderExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ponder-" + player.getColor());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    AlphaBetaStrategy search = ponderer;
+    ponderTask = ponderExecutor.submit(() -> search.getBestMove(opponent));
+    System.out.println("AI (" + player.getColor() + ") pondering on the opponent's turn");
+  }
+
+  /**
+   * Stop the background search and wait for it to leave the table alone.
+   */
+  private void stopPondering() {
+    if (ponderer == null) {
+      return;
+    }
+    ponderer.stop();
+    try {
+      ponderTask.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      System.err.println("AI (" + player.getColor() + ") pondering failed: " + e.getCause());
+    }
+    ponderer = null;
+    ponderTask = null;
+  }
+
   @Override
   public boolean isHumanControlled() {
     return false;
@@ -1,6 +1,5 @@
 package customer.controller;
 
-import customer.gamefeatures.Card;
 import customer.gamefeatures.IPlayer;
 import customer.model.ThreeTriosModel;
 
@@ -18,9 +17,8 @@ public abstract class AbstractController implements Controller {
 
   @Override
   public void updateGameModel(IPlayer player, int cardIdx, int row, int col) {
-    Card card = player.getHand().get(cardIdx);
-    model.playToGrid(cardIdx, row, col, player);
-    model.battle(card, row, col, player.getColor());
+    // one change, so a model shared between threads never shows the card played but not battled
+    model.playAndBattle(cardIdx, row, col, player);
   }
 
 }
@@ -8,6 +8,7 @@ import customer.gamefeatures.Card;
 import customer.gamefeatures.GameCard;
 import customer.gamefeatures.GameGrid;
 import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.PackedGameGrid;
 
 /**
  * File reader class to initialize the grid using configuration file.
@@ -22,6 +23,47 @@ public class ConfigurationReader {
    * @return The game grid after initialization.
    */
   public IGameGrid buildGridUsingConfigFile(String filePath) {
+    boolean[][] isHole = readHoleLayout(filePath);
+    int row = isHole.length;
+    int col = row == 0 ? 0 : isHole[0].length;
+    int cells = 0;
+    Card[][] grid = new Card[row][col];
+    for (int i = 0; i < row; i += 1) {
+      for (int j = 0; j < col; j += 1) {
+        if (isHole[i][j]) {
+          grid[i][j] =
+                  new GameCard("X", "GRAY", 0, 0, 0, 0);
+        } else {
+          grid[i][j] =
+                  new GameCard("C", "YELLOW", 0, 0, 0, 0);
+          cells += 1;
+        }
+      }
+    }
+    return new GameGrid(row, col, grid, cells);
+  }
+
+  /**
+   * Construct a PackedGameGrid using a txt file that contains the basic
+   * constructing information, without creating any card for the empty cells and holes.
+   *
+   * @param filePath The path of the configuration file.
+   * @return The packed game grid after initialization.
+   */
+  public IGameGrid buildPackedGridUsingConfigFile(String filePath) {
+    boolean[][] isHole = readHoleLayout(filePath);
+    int row = isHole.length;
+    int col = row == 0 ? 0 : isHole[0].length;
+    return new PackedGameGrid(row, col, isHole);
+  }
+
+  /**
+   * Read the configuration file and find out which positions in the grid are holes.
+   *
+   * @param filePath The path of the configuration file.
+   * @return A 2D-array where the position is true if it is a hole, false if it is a card cell.
+   */
+  private boolean[][] readHoleLayout(String filePath) {
     try {
       File configFile = new File(filePath);
       Scanner scanner = new Scanner(configFile);
@@ -42,8 +84,7 @@ public class ConfigurationReader {
       if (scanner.hasNextLine()) {
         scanner.nextLine();
       }
-      int cells = 0;
-      Card[][] grid = new Card[row][col];
+      boolean[][] isHole = new boolean[row][col];
       // check the actual row number in the file
       // all lines following the last row are ignored.
       for (int i = 0; i < row; i += 1) {
@@ -58,19 +99,14 @@ public class ConfigurationReader {
         for (int j = 0; j < col; j += 1) {
           char[] thisLine = line.toCharArray();
           if (thisLine[j] == 'X') {
-            grid[i][j] =
-                    new GameCard("X", "GRAY", 0, 0, 0, 0);
-          } else if (thisLine[j] == 'C') {
-            grid[i][j] =
-                    new GameCard("C", "YELLOW", 0, 0, 0, 0);
-            cells += 1;
-          } else {
+            isHole[i][j] = true;
+          } else if (thisLine[j] != 'C') {
             throw new IllegalArgumentException(
                     "Element in the grid should only be represent by char 'X' or 'C'.");
           }
         }
       }
-      return new GameGrid(row, col, grid, cells);
+      return isHole;
     } catch (FileNotFoundException e) {
       throw new IllegalArgumentException("File not found: " + filePath);
     }
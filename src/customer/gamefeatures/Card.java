@@ -15,6 +15,16 @@ public interface Card {
    */
   boolean compare(Card card, String direction);
 
+  /**
+   * Compare the card ATK value with another card.
+   * Check whether this card wins.
+   *
+   * @param card      The card to be compared.
+   * @param direction The direction of the ATK value that is going to be compared.
+   * @return Whether this card is larger than the argument card.
+   */
+  boolean compare(Card card, DirectionType direction);
+
   /**
    * Get the number of card at certain direction.
    *
@@ -23,11 +33,26 @@ public interface Card {
    */
   int getNum(String direction);
 
+  /**
+   * Get the number of card at certain direction.
+   *
+   * @param direction The direction of the ATK value we want.
+   * @return Prefer ATK value.
+   */
+  int getNum(DirectionType direction);
+
   /**
    * Get the current color of the card.
    */
   String getColor();
 
+  /**
+   * Get the current color of the card.
+   *
+   * @return The color of the card.
+   */
+  ColorType getColorType();
+
   /**
    * Reverse the card color.
    */
@@ -55,6 +80,14 @@ public interface Card {
    */
   int getChanceToFlip(String direction);
 
+  /**
+   * Get the percentage probability of the card to be flipped at certain direction.
+   *
+   * @param direction The direction want to be checked.
+   * @return Probability of the card to be flipped.
+   */
+  int getChanceToFlip(DirectionType direction);
+
   /**
    * Create a copy of the Card.
    *
@@ -75,4 +108,18 @@ public interface Card {
    * @param modType The modification add-on to the battle mode.
    */
   void setModType(ModType modType);
+
+  /**
+   * Gets the battle type of the card, which is the battle mode the card battles with.
+   *
+   * @return The battle mode, or null if it has not been set.
+   */
+  BattleType getBattleType();
+
+  /**
+   * Gets the modification type of the card, which is the add-on to the battle mode.
+   *
+   * @return The modification add-on, or null if it has not been set.
+   */
+  ModType getModType();
 }
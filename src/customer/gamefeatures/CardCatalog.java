@@ -0,0 +1,182 @@
+package customer.gamefeatures;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import customer.fileoperation.CardFileReader;
+
+/**
+ * Keeps every distinct card definition of a game once, the name and the four attack values,
+ * and gives each one a small id. A card in a game is then a single int code made of the id,
+ * the owner bit and the battle rules of the card, so a hand is an int[] and a grid cell
+ * is an int, and a card object is only built when someone asks for one.
+ * The code keeps the owner in the lowest bit, set when the card is blue, the battle type and
+ * modification type ordinals plus one above it, zero when they are not set, and the id above
+ * them. The same definition always gets the same id, and ids are never taken back,
+ * so a catalog could be shared by every copy of a game, from any thread.
+ */
+public final class CardCatalog {
+  // set when the card is blue, unset when it is red
+  private static final int BLUE_BIT = 1;
+  // battle type and modification type ordinals plus one, three bits each
+  private static final int BATTLE_SHIFT = 1;
+  private static final int MOD_SHIFT = 4;
+  private static final int TYPE_MASK = 0x7;
+  private static final int ID_SHIFT = 7;
+  // north, south, east and west attack values, four bits each
+  private static final int ATTACK_MASK = 0xF;
+
+  private final Map<String, Integer> ids;
+  private String[] names;
+  private int[] attacks;
+  private int size;
+
+  /**
+   * Constructor for an empty CardCatalog.
+   */
+  public CardCatalog() {
+    this.ids = new HashMap<>();
+    this.names = new String[16];
+    this.attacks = new int[16];
+    this.size = 0;
+  }
+
+  /**
+   * Constructor for CardCatalog with the definitions of the given cards.
+   *
+   * @param cards The cards, such as the cards read from a card configuration file.
+   */
+  public CardCatalog(List<Card> cards) {
+    this();
+    for (Card card : cards) {
+      intern(card);
+    }
+  }
+
+  /**
+   * Make a catalog of the cards in a card configuration file, using CardFileReader.
+   *
+   * @param cardFilePath File path of the card configuration.
+   * @return The catalog of the cards.
+   */
+  public static CardCatalog load(String cardFilePath) {
+    return new CardCatalog(new CardFileReader().getHandCardUsingConfigFile(cardFilePath, "RED"));
+  }
+
+  /**
+   * Get the id of the definition of a card, adding the definition if it is new.
+   *
+   * @param card The card.
+   * @return The id of its definition.
+   */
+  public synchronized int intern(Card card) {
+    int attack = card.getNum(DirectionType.NORTH)
+            | card.getNum(DirectionType.SOUTH) << 4
+            | card.getNum(DirectionType.EAST) << 8
+            | card.getNum(DirectionType.WEST) << 12;
+    String key = card.getName() + " " + attack;
+    Integer id = this.ids.get(key);
+    if (id != null) {
+      return id;
+    }
+    if (this.size == this.names.length) {
+      this.names = Arrays.copyOf(this.names, this.size * 2);
+      this.attacks = Arrays.copyOf(this.attacks, this.size * 2);
+    }
+    this.names[this.size] = card.getName();
+    this.attacks[this.size] = attack;
+    this.ids.put(key, this.size);
+    this.size += 1;
+    return this.size - 1;
+  }
+
+  /**
+   * Get the code of a card: the id of its definition, its owner and its battle rules.
+   *
+   * @param card The card, which must be red or blue.
+   * @return The code of the card.
+   */
+  public int codeOf(Card card) {
+    int code = intern(card) << ID_SHIFT;
+    if (card.getColorType() == ColorType.BLUE) {
+      code |= BLUE_BIT;
+    } else if (card.getColorType() != ColorType.RED) {
+      throw new IllegalArgumentException("Only red or blue cards have a code.");
+    }
+    if (card.getBattleType() != null) {
+      code |= (card.getBattleType().ordinal() + 1) << BATTLE_SHIFT;
+    }
+    if (card.getModType() != null) {
+      code |= (card.getModType().ordinal() + 1) << MOD_SHIFT;
+    }
+    return code;
+  }
+
+  /**
+   * Build a new card object from its code.
+   *
+   * @param code The code of the card.
+   * @return The card.
+   * @throws IllegalArgumentException if there is no definition with the id of the code.
+   */
+  public synchronized Card card(int code) {
+    int id = id(code);
+    if (id < 0 || id >= this.size) {
+      throw new IllegalArgumentException("There is no card with the id " + id);
+    }
+    int attack = this.attacks[id];
+    Card card = new GameCard(this.names[id], owner(code).name(),
+            attack & ATTACK_MASK, (attack >> 4) & ATTACK_MASK,
+            (attack >> 8) & ATTACK_MASK, (attack >> 12) & ATTACK_MASK);
+    int battleType = (code >> BATTLE_SHIFT) & TYPE_MASK;
+    if (battleType != 0) {
+      card.setBattleType(BattleType.values()[battleType - 1]);
+    }
+    int modType = (code >> MOD_SHIFT) & TYPE_MASK;
+    if (modType != 0) {
+      card.setModType(ModType.values()[modType - 1]);
+    }
+    return card;
+  }
+
+  /**
+   * Get the number of distinct card definitions.
+   *
+   * @return The number of definitions.
+   */
+  public synchronized int size() {
+    return this.size;
+  }
+
+  /**
+   * Get the id of the definition of a card from its code.
+   *
+   * @param code The code of the card.
+   * @return The id.
+   */
+  public static int id(int code) {
+    return code >>> ID_SHIFT;
+  }
+
+  /**
+   * Get the owner of a card from its code.
+   *
+   * @param code The code of the card.
+   * @return The color of the card.
+   */
+  public static ColorType owner(int code) {
+    return (code & BLUE_BIT) != 0 ? ColorType.BLUE : ColorType.RED;
+  }
+
+  /**
+   * Get the code of a card after it is flipped to the other player.
+   *
+   * @param code The code of the card.
+   * @return The code of the flipped card.
+   */
+  public static int flip(int code) {
+    return code ^ BLUE_BIT;
+  }
+}
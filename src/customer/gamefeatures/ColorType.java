@@ -0,0 +1,45 @@
+package customer.gamefeatures;
+
+/**
+ * ColorType is the color of a card, red or blue for the cards owned by the players,
+ * gray for the holes and yellow for the empty card cells on the grid.
+ */
+public enum ColorType {
+  RED,
+  BLUE,
+  GRAY,
+  YELLOW;
+
+  /**
+   * Get the color of the other player, red becomes blue and every other color becomes red.
+   *
+   * @return The reversed color.
+   */
+  public ColorType reverse() {
+    if (this == RED) {
+      return BLUE;
+    }
+    return RED;
+  }
+
+  /**
+   * Get the color represented by the given String, such as "RED".
+   *
+   * @param color The color in String.
+   * @return The color.
+   */
+  public static ColorType fromString(String color) {
+    switch (color) {
+      case "RED":
+        return RED;
+      case "BLUE":
+        return BLUE;
+      case "GRAY":
+        return GRAY;
+      case "YELLOW":
+        return YELLOW;
+      default:
+        throw new IllegalArgumentException("Unknown color: " + color);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package customer.gamefeatures;
+
+/**
+ * DirectionType is one of the four sides of a card, north, south, east and west,
+ * used when a card battles the card next to it.
+ */
+public enum DirectionType {
+  NORTH,
+  SOUTH,
+  EAST,
+  WEST;
+
+  /**
+   * Get the side facing this side when two cards are next to each other,
+   * for example the north side of a card faces the south side of the card above it.
+   *
+   * @return The opposite direction.
+   */
+  public DirectionType opposite() {
+    switch (this) {
+      case NORTH:
+        return SOUTH;
+      case SOUTH:
+        return NORTH;
+      case EAST:
+        return WEST;
+      default:
+        return EAST;
+    }
+  }
+
+  /**
+   * Get the direction represented by the given String, such as "north".
+   *
+   * @param direction The direction in String.
+   * @return The direction.
+   */
+  public static DirectionType fromString(String direction) {
+    switch (direction) {
+      case "north":
+        return NORTH;
+      case "south":
+        return SOUTH;
+      case "east":
+        return EAST;
+      case "west":
+        return WEST;
+      default:
+        throw new IllegalArgumentException(
+                "The direction is should be one of north/south/east/west.");
+    }
+  }
+}
@@ -1,10 +1,6 @@
 package customer.gamefeatures;
 
-import customer.variantdecorator.FallenAceDecorator;
-import customer.variantdecorator.IVariant;
-import customer.variantdecorator.NormalBattleDecorator;
-import customer.variantdecorator.ReverseBattleDecorator;
-import customer.variantdecorator.SameDecorator;
+import customer.variantdecorator.BattleRuleTable;
 
 /**
  * Class for the card be used in this game.
@@ -12,13 +8,15 @@ import customer.variantdecorator.SameDecorator;
 public class GameCard implements Card {
 
   private final String cardName;
-  private String cardColor;
+  private ColorType cardColor;
   private final Direction north;
   private final Direction south;
   private final Direction east;
   private final Direction west;
   private BattleType battleType;
   private ModType modType;
+  // the win table of the battle type and modification type above
+  private BattleRuleTable rules;
 
   /**
    * Constructor for GameCard.
@@ -33,11 +31,12 @@ public class GameCard implements Card {
   public GameCard(String name, String cardColor,
                   int north, int south, int east, int west) {
     this.cardName = name;
-    this.cardColor = cardColor;
+    this.cardColor = ColorType.fromString(cardColor);
     this.north = new Direction(north);
     this.south = new Direction(south);
     this.east = new Direction(east);
     this.west = new Direction(west);
+    this.rules = BattleRuleTable.forRules(null, null);
   }
 
   /**
@@ -53,92 +52,86 @@ public class GameCard implements Card {
     this.east = new Direction(another.east);
     this.west = new Direction(another.west);
     this.battleType = another.battleType;
+    this.modType = another.modType;
+    this.rules = another.rules;
   }
 
   @Override
   public void setBattleType(BattleType battleType) {
     this.battleType = battleType;
+    this.rules = BattleRuleTable.forRules(this.battleType, this.modType);
   }
 
   @Override
   public void setModType(ModType modType) {
     this.modType = modType;
+    this.rules = BattleRuleTable.forRules(this.battleType, this.modType);
+  }
+
+  @Override
+  public BattleType getBattleType() {
+    return this.battleType;
+  }
+
+  @Override
+  public ModType getModType() {
+    return this.modType;
   }
 
   @Override
   public int getNum(String direction) {
+    return getNum(DirectionType.fromString(direction));
+  }
+
+  @Override
+  public int getNum(DirectionType direction) {
     switch (direction) {
-      case "north":
+      case NORTH:
         return this.north.getCardNum();
-      case "south":
+      case SOUTH:
         return this.south.getCardNum();
-      case "east":
+      case EAST:
         return this.east.getCardNum();
-      case "west":
-        return this.west.getCardNum();
       default:
-        throw new IllegalArgumentException(
-                "The direction is should be one of north/south/east/west.");
+        return this.west.getCardNum();
     }
   }
 
   @Override
   public String getColor() {
+    return this.cardColor.name();
+  }
+
+  @Override
+  public ColorType getColorType() {
     return this.cardColor;
   }
 
   @Override
   public void reverseColor() {
-    if (this.cardColor.equals("RED")) {
-      this.cardColor = "BLUE";
-    } else {
-      this.cardColor = "RED";
-    }
+    this.cardColor = this.cardColor.reverse();
   }
 
   @Override
   public boolean compare(Card card, String direction) {
+    return compare(card, DirectionType.fromString(direction));
+  }
+
+  @Override
+  public boolean compare(Card card, DirectionType direction) {
     // check whether the given card has the same color as this card.
-    if (this.cardColor.equals(card.getColor())) {
+    if (this.cardColor == card.getColorType()) {
       return false;
     }
     return battlingProcess(card, direction);
   }
 
-  private boolean battlingProcess(Card card, String direction) {
-    switch (direction) {
-      case "north":
-        return compareTheNums(this.north.getCardNum(), card.getNum("south"));
-      case "south":
-        return compareTheNums(this.south.getCardNum(), card.getNum("north"));
-      case "east":
-        return compareTheNums(this.east.getCardNum(), card.getNum("west"));
-      case "west":
-        return compareTheNums(this.west.getCardNum(), card.getNum("east"));
-      default:
-        throw new IllegalArgumentException(
-                "The direction is should be one of north/south/east/west.");
-    }
+  private boolean battlingProcess(Card card, DirectionType direction) {
+    return compareTheNums(getNum(direction), card.getNum(direction.opposite()));
   }
 
   private boolean compareTheNums(int num1, int num2) {
-    IVariant battleDec = new NormalBattleDecorator(num1, num2);
-
-    // battle type part
-    if (battleType == BattleType.REVERSE) {
-      battleDec = new ReverseBattleDecorator(battleDec);
-    } else if (battleType == BattleType.ACE) {
-      battleDec = new FallenAceDecorator(battleDec, num1, num2);
-    } else if (battleType == BattleType.REVERSEANDACE) {
-      battleDec = new ReverseBattleDecorator(new FallenAceDecorator(battleDec, num1, num2));
-    }
-
-    // modification add-on part
-    if (modType == ModType.SAME) {
-      battleDec = new SameDecorator(battleDec, num1, num2);
-    }
-
-    return battleDec.compareCard();
+    return this.rules.beats(num1, num2);
   }
 
   @Override
@@ -161,14 +154,21 @@ public class GameCard implements Card {
 
   @Override
   public int getChanceToFlip(String direction) {
+    return getChanceToFlip(DirectionType.fromString(direction));
+  }
+
+  @Override
+  public int getChanceToFlip(DirectionType direction) {
     return 10 - this.getNum(direction);
   }
 
   @Override
   public Card copy() {
     Card copy = new GameCard(getName(), getColor(),
-            getNum("north"), getNum("south"),
-            getNum("east"), getNum("west"));
+            getNum(DirectionType.NORTH), getNum(DirectionType.SOUTH),
+            getNum(DirectionType.EAST), getNum(DirectionType.WEST));
+    copy.setBattleType(this.battleType);
+    copy.setModType(this.modType);
     return copy;
   }
 
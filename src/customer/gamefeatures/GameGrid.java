@@ -1,5 +1,7 @@
 package customer.gamefeatures;
 
+import java.util.BitSet;
+
 /**
  * The game grid of the game, stores the row and col size of the game,
  * a 2D-array that stores all the cards being put in game grid.
@@ -13,6 +15,8 @@ public class GameGrid implements IGameGrid {
   private int cells;
   private int holes;
   private Card[][] grid;
+  // the empty card cells, indexed by row * col number + col
+  private BitSet openCells;
 
   /**
    * The constructor of the game grid.
@@ -30,6 +34,14 @@ public class GameGrid implements IGameGrid {
     this.col = col;
     this.grid = grid;
     this.cells = cells;
+    this.openCells = new BitSet(row * col);
+    for (int i = 0; i < row; i += 1) {
+      for (int j = 0; j < col; j += 1) {
+        if (grid[i][j] != null && grid[i][j].getName().equals("C")) {
+          this.openCells.set(i * col + j);
+        }
+      }
+    }
   }
 
   /**
@@ -47,6 +59,7 @@ public class GameGrid implements IGameGrid {
       }
     }
     this.cells = another.cells;
+    this.openCells = (BitSet) another.openCells.clone();
   }
 
   @Override
@@ -93,6 +106,7 @@ public class GameGrid implements IGameGrid {
     // x represent col, y represent row
     if (grid[y][x].getName().equals("C")) {
       grid[y][x] = card;
+      openCells.clear(y * col + x);
       cells -= 1; // decrease the available cell numbers
     } else {
       throw new IllegalArgumentException("Cards could only be played to empty card cells.");
@@ -111,6 +125,44 @@ public class GameGrid implements IGameGrid {
             !grid[y][x].getName().equals("C");
   }
 
+  @Override
+  public Card getCard(int x, int y) {
+    return this.grid[y][x];
+  }
+
+  @Override
+  public void flipCard(int x, int y) {
+    if (!hasCard(x, y)) {
+      throw new IllegalArgumentException("Only game cards on the grid could be flipped.");
+    }
+    this.grid[y][x].reverseColor();
+  }
+
+  @Override
+  public Card removeFromGrid(int x, int y) {
+    if (!hasCard(x, y)) {
+      throw new IllegalArgumentException("Only game cards on the grid could be removed.");
+    }
+    Card card = this.grid[y][x];
+    this.grid[y][x] = new GameCard("C", "YELLOW", 0, 0, 0, 0);
+    openCells.set(y * col + x);
+    cells += 1; // the cell is available again
+    return card;
+  }
+
+  @Override
+  public boolean isOpen(int x, int y) {
+    if (x < 0 || x > col - 1 || y < 0 || y > row - 1) {
+      return false;
+    }
+    return this.openCells.get(y * col + x);
+  }
+
+  @Override
+  public int nextOpenCell(int fromIndex) {
+    return this.openCells.nextSetBit(fromIndex);
+  }
+
   @Override
   public int getCells() {
     return this.cells;
@@ -128,23 +180,9 @@ public class GameGrid implements IGameGrid {
 
   @Override
   public IGameGrid copy() {
-    Card[][] copyGrid = new Card[this.row][this.col];
-    int cells = getCells();
-    if (cells % 2 == 0) {
-      cells += 1;
-    }
-    GameGrid copy = new GameGrid(getRow(), getCol(), copyGrid, cells);
-    if (this.grid != null) {
-      copy.grid = new Card[this.row][this.col];
-      for (int row = 0; row < this.row; row += 1) {
-        for (int col = 0; col < this.col; col += 1) {
-          if (this.grid[row][col] != null) {
-            copy.grid[row][col] = this.grid[row][col].copy();
-          }
-        }
-      }
-    }
-    return copy;
+    // the copy constructor keeps the number of available cells as it is, even in the middle
+    // of a game when it is even
+    return new GameGrid(this);
   }
 
   @Override
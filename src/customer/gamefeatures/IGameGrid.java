@@ -36,6 +36,51 @@ public interface IGameGrid {
    */
   boolean hasCard(int x, int y);
 
+  /**
+   * Get the card at the given position, which could also be an empty cell or a hole.
+   *
+   * @param x The col coordinate of the position.
+   * @param y The row coordinate of the position.
+   * @return The card at this position.
+   */
+  Card getCard(int x, int y);
+
+  /**
+   * Flip the game card at the given position so that it is owned by the other player.
+   *
+   * @param x The col coordinate of the position.
+   * @param y The row coordinate of the position.
+   */
+  void flipCard(int x, int y);
+
+  /**
+   * Take the game card at the given position off the grid, making it an empty card cell again.
+   *
+   * @param x The col coordinate of the position.
+   * @param y The row coordinate of the position.
+   * @return The card that was at this position.
+   */
+  Card removeFromGrid(int x, int y);
+
+  /**
+   * Check whether the given position is an empty card cell that a card could be played to.
+   *
+   * @param x The col coordinate of the position.
+   * @param y The row coordinate of the position.
+   * @return Whether a card could be played to this position.
+   */
+  boolean isOpen(int x, int y);
+
+  /**
+   * Get the first empty card cell at or after the given index, positions are indexed
+   * by row * col number + col. All the empty cells could be visited by starting from 0
+   * and passing the last found index plus one each time.
+   *
+   * @param fromIndex The index to start looking from.
+   * @return The index of the next empty card cell, or -1 if there is none left.
+   */
+  int nextOpenCell(int fromIndex);
+
   /**
    * Get the number of available card cells.
    *
@@ -13,6 +13,13 @@ public interface IPlayer {
    */
   String getColor();
 
+  /**
+   * Get the color represent the player.
+   *
+   * @return The color represent the player.
+   */
+  ColorType getColorType();
+
   /**
    * Add new card to hand.
    *
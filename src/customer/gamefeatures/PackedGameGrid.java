@@ -0,0 +1,376 @@
+package customer.gamefeatures;
+
+import java.util.BitSet;
+
+import customer.variantdecorator.BattleRuleTable;
+
+/**
+ * A game grid that packs the state of every position into a single int instead of keeping
+ * a card object per cell. Each packed cell stores whether it is a hole, an empty card cell
+ * or an occupied card cell, the color of the card on it, the four attack values and the
+ * battle rules of that card. The positions are indexed by row * col number + col.
+ * The Card[][] view of the grid is only built when someone asks for it, and a battle could
+ * read the owners and attack values straight from the packed cells instead.
+ */
+public class PackedGameGrid implements IGameGrid {
+  // the state of a cell, stored in the lowest two bits
+  private static final int STATE_MASK = 0x3;
+  private static final int HOLE = 0;
+  private static final int EMPTY = 1;
+  private static final int OCCUPIED = 2;
+  // set when the card on the cell is blue, unset when it is red
+  private static final int BLUE_BIT = 1 << 2;
+  // north, south, east and west attack values, four bits each
+  private static final int ATTACK_SHIFT = 3;
+  private static final int ATTACK_MASK = 0xF;
+  // battle type and modification type ordinals plus one, zero when they are not set
+  private static final int BATTLE_SHIFT = 19;
+  private static final int MOD_SHIFT = 22;
+  private static final int TYPE_MASK = 0x7;
+  // the win table of every battle type and modification type, indexed by the six bits from
+  // BATTLE_SHIFT, as the modification type is stored right above the battle type
+  private static final BattleRuleTable[] RULES = buildRules();
+
+  private final int row;
+  private final int col;
+  private int cells;
+  private final int[] packedCells;
+  private final String[] names;
+  // the empty card cells, set exactly where the state of the packed cell is EMPTY
+  private final BitSet openCells;
+  private Card[][] view;
+
+  /**
+   * Constructor of the packed game grid using the layout of the holes.
+   *
+   * @param row    The number of row of the grid.
+   * @param col    The number of col of the grid.
+   * @param isHole Whether the position at [row][col] is a hole.
+   */
+  public PackedGameGrid(int row, int col, boolean[][] isHole) {
+    this.row = row;
+    this.col = col;
+    this.packedCells = new int[row * col];
+    this.names = new String[row * col];
+    this.openCells = new BitSet(row * col);
+    int cells = 0;
+    for (int i = 0; i < row; i += 1) {
+      for (int j = 0; j < col; j += 1) {
+        if (isHole[i][j]) {
+          this.packedCells[i * col + j] = HOLE;
+        } else {
+          this.packedCells[i * col + j] = EMPTY;
+          this.openCells.set(i * col + j);
+          cells += 1;
+        }
+      }
+    }
+    // check whether the number of cells is odd
+    if (cells % 2 == 0) {
+      throw new IllegalArgumentException("The number of card cells should be odd.");
+    }
+    this.cells = cells;
+  }
+
+  /**
+   * Constructor that packs the state of another game grid.
+   *
+   * @param another The game grid that is getting packed.
+   */
+  public PackedGameGrid(IGameGrid another) {
+    this.row = another.getRow();
+    this.col = another.getCol();
+    this.packedCells = new int[row * col];
+    this.names = new String[row * col];
+    this.openCells = new BitSet(row * col);
+    for (int i = 0; i < row; i += 1) {
+      for (int j = 0; j < col; j += 1) {
+        Card card = another.getCard(j, i);
+        if (another.hasCard(j, i)) {
+          this.packedCells[i * col + j] = pack(card);
+          this.names[i * col + j] = card.getName();
+        } else if (card.getName().equals("C")) {
+          this.packedCells[i * col + j] = EMPTY;
+          this.openCells.set(i * col + j);
+        } else {
+          this.packedCells[i * col + j] = HOLE;
+        }
+      }
+    }
+    this.cells = another.getCells();
+  }
+
+  /**
+   * Constructor that copies another packed game grid, without its Card[][] view.
+   *
+   * @param another The packed game grid that is getting copied.
+   */
+  public PackedGameGrid(PackedGameGrid another) {
+    this.row = another.row;
+    this.col = another.col;
+    this.packedCells = another.packedCells.clone();
+    this.names = another.names.clone();
+    this.openCells = (BitSet) another.openCells.clone();
+    this.cells = another.cells;
+  }
+
+  @Override
+  public Card[][] getGrid() {
+    if (this.view == null) {
+      this.view = new Card[this.row][this.col];
+      for (int i = 0; i < this.row; i += 1) {
+        for (int j = 0; j < this.col; j += 1) {
+          this.view[i][j] = unpack(i * this.col + j);
+        }
+      }
+    }
+    return this.view;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder stringGrid = new StringBuilder();
+    for (int row = 0; row < this.row; row += 1) {
+      for (int col = 0; col < this.col; col += 1) {
+        int cell = this.packedCells[row * this.col + col];
+        if ((cell & STATE_MASK) == EMPTY) {
+          stringGrid.append('_');
+        } else if ((cell & STATE_MASK) == HOLE) {
+          stringGrid.append(' ');
+        } else if ((cell & BLUE_BIT) != 0) {
+          stringGrid.append('B');
+        } else {
+          stringGrid.append('R');
+        }
+      }
+      // check whether it is the last row
+      if (row != this.row - 1) {
+        stringGrid.append('\n');
+      }
+    }
+    return stringGrid.toString();
+  }
+
+  @Override
+  public void playToGrid(Card card, int x, int y) {
+    // check if the given x index is board.
+    if (x < 0 || x > col - 1) {
+      throw new IllegalArgumentException("Invalid x index: " + x);
+    }
+    // check if the given y index is board.
+    if (y < 0 || y > row - 1) {
+      throw new IllegalArgumentException("Invalid y index: " + y);
+    }
+    int index = y * this.col + x;
+    if ((this.packedCells[index] & STATE_MASK) != EMPTY) {
+      throw new IllegalArgumentException("Cards could only be played to empty card cells.");
+    }
+    this.packedCells[index] = pack(card);
+    this.names[index] = card.getName();
+    this.openCells.clear(index);
+    this.cells -= 1; // decrease the available cell numbers
+    if (this.view != null) {
+      this.view[y][x] = card;
+    }
+  }
+
+  @Override
+  public boolean hasCard(int x, int y) {
+    // if x and y exceed the game board, return false
+    if (x < 0 || x > col - 1 || y < 0 || y > row - 1) {
+      return false;
+    }
+    return (this.packedCells[y * this.col + x] & STATE_MASK) == OCCUPIED;
+  }
+
+  @Override
+  public Card getCard(int x, int y) {
+    if (this.view != null) {
+      return this.view[y][x];
+    }
+    return unpack(y * this.col + x);
+  }
+
+  /**
+   * Get the packed int of the position, to read the card on it without building a card object.
+   *
+   * @param x The col index of the position.
+   * @param y The row index of the position.
+   * @return The packed cell.
+   */
+  public int getPackedCell(int x, int y) {
+    return this.packedCells[y * this.col + x];
+  }
+
+  /**
+   * Get the owner of the card in a packed cell.
+   *
+   * @param cell The packed cell, which must be occupied.
+   * @return The color of the card.
+   */
+  public static ColorType owner(int cell) {
+    return (cell & BLUE_BIT) != 0 ? ColorType.BLUE : ColorType.RED;
+  }
+
+  /**
+   * Get the attack value of the card in a packed cell in the given direction.
+   *
+   * @param cell      The packed cell, which must be occupied.
+   * @param direction The direction.
+   * @return The attack value.
+   */
+  public static int attack(int cell, DirectionType direction) {
+    return (cell >> (ATTACK_SHIFT + 4 * direction.ordinal())) & ATTACK_MASK;
+  }
+
+  /**
+   * Check whether the attacking card wins against the defending card next to it, the same as
+   * Card.compare but on the packed cells. Cards of the same color never win against each other,
+   * and the battle rules are the ones of the attacking card.
+   *
+   * @param attacker  The packed cell of the attacking card.
+   * @param defender  The packed cell of the defending card.
+   * @param direction The direction of the defending card from the attacking card.
+   * @return Whether the attacking card wins.
+   */
+  public static boolean beats(int attacker, int defender, DirectionType direction) {
+    if (((attacker ^ defender) & BLUE_BIT) == 0) {
+      return false;
+    }
+    return RULES[(attacker >> BATTLE_SHIFT) & (TYPE_MASK << 3 | TYPE_MASK)]
+            .beats(attack(attacker, direction), attack(defender, direction.opposite()));
+  }
+
+  @Override
+  public void flipCard(int x, int y) {
+    if (!hasCard(x, y)) {
+      throw new IllegalArgumentException("Only game cards on the grid could be flipped.");
+    }
+    this.packedCells[y * this.col + x] ^= BLUE_BIT;
+    if (this.view != null) {
+      this.view[y][x].reverseColor();
+    }
+  }
+
+  @Override
+  public Card removeFromGrid(int x, int y) {
+    if (!hasCard(x, y)) {
+      throw new IllegalArgumentException("Only game cards on the grid could be removed.");
+    }
+    Card card = getCard(x, y);
+    int index = y * this.col + x;
+    this.packedCells[index] = EMPTY;
+    this.names[index] = null;
+    this.openCells.set(index);
+    this.cells += 1; // the cell is available again
+    if (this.view != null) {
+      this.view[y][x] = unpack(index);
+    }
+    return card;
+  }
+
+  @Override
+  public boolean isOpen(int x, int y) {
+    if (x < 0 || x > col - 1 || y < 0 || y > row - 1) {
+      return false;
+    }
+    return this.openCells.get(y * this.col + x);
+  }
+
+  @Override
+  public int nextOpenCell(int fromIndex) {
+    return this.openCells.nextSetBit(fromIndex);
+  }
+
+  @Override
+  public int getCells() {
+    return this.cells;
+  }
+
+  @Override
+  public int getRow() {
+    return this.row;
+  }
+
+  @Override
+  public int getCol() {
+    return this.col;
+  }
+
+  @Override
+  public IGameGrid copy() {
+    return new PackedGameGrid(this);
+  }
+
+  @Override
+  public String sizeOfGrid() {
+    return row + " x " + col;
+  }
+
+  /**
+   * Pack the given game card into the int representation of an occupied cell.
+   *
+   * @param card The card to be packed.
+   * @return The packed cell.
+   */
+  public static int pack(Card card) {
+    int cell = OCCUPIED;
+    if (card.getColorType() == ColorType.BLUE) {
+      cell |= BLUE_BIT;
+    } else if (card.getColorType() != ColorType.RED) {
+      throw new IllegalArgumentException("Only red or blue cards could be played to grid.");
+    }
+    cell |= card.getNum(DirectionType.NORTH) << ATTACK_SHIFT;
+    cell |= card.getNum(DirectionType.SOUTH) << (ATTACK_SHIFT + 4);
+    cell |= card.getNum(DirectionType.EAST) << (ATTACK_SHIFT + 8);
+    cell |= card.getNum(DirectionType.WEST) << (ATTACK_SHIFT + 12);
+    if (card.getBattleType() != null) {
+      cell |= (card.getBattleType().ordinal() + 1) << BATTLE_SHIFT;
+    }
+    if (card.getModType() != null) {
+      cell |= (card.getModType().ordinal() + 1) << MOD_SHIFT;
+    }
+    return cell;
+  }
+
+  /**
+   * Build a card object from the packed cell at the given index.
+   *
+   * @param index The index of the cell, row * col number + col.
+   * @return The card, empty cell or hole stored at this index.
+   */
+  private Card unpack(int index) {
+    int cell = this.packedCells[index];
+    if ((cell & STATE_MASK) == HOLE) {
+      return new GameCard("X", "GRAY", 0, 0, 0, 0);
+    } else if ((cell & STATE_MASK) == EMPTY) {
+      return new GameCard("C", "YELLOW", 0, 0, 0, 0);
+    }
+    Card card = new GameCard(this.names[index], (cell & BLUE_BIT) != 0 ? "BLUE" : "RED",
+            (cell >> ATTACK_SHIFT) & ATTACK_MASK,
+            (cell >> (ATTACK_SHIFT + 4)) & ATTACK_MASK,
+            (cell >> (ATTACK_SHIFT + 8)) & ATTACK_MASK,
+            (cell >> (ATTACK_SHIFT + 12)) & ATTACK_MASK);
+    int battleType = (cell >> BATTLE_SHIFT) & TYPE_MASK;
+    if (battleType != 0) {
+      card.setBattleType(BattleType.values()[battleType - 1]);
+    }
+    int modType = (cell >> MOD_SHIFT) & TYPE_MASK;
+    if (modType != 0) {
+      card.setModType(ModType.values()[modType - 1]);
+    }
+    return card;
+  }
+
+  private static BattleRuleTable[] buildRules() {
+    BattleRuleTable[] rules = new BattleRuleTable[(TYPE_MASK + 1) * (TYPE_MASK + 1)];
+    for (int battleType = 0; battleType <= BattleType.values().length; battleType += 1) {
+      for (int modType = 0; modType <= ModType.values().length; modType += 1) {
+        rules[modType << 3 | battleType] = BattleRuleTable.forRules(
+                battleType == 0 ? null : BattleType.values()[battleType - 1],
+                modType == 0 ? null : ModType.values()[modType - 1]);
+      }
+    }
+    return rules;
+  }
+}
@@ -10,7 +10,7 @@ import java.util.List;
  */
 public class Player implements IPlayer {
 
-  private final String color;
+  private final ColorType color;
   private List<Card> hand;
 
   /**
@@ -19,7 +19,7 @@ public class Player implements IPlayer {
    * @param color The color represent the player.
    */
   public Player(String color) {
-    this.color = color;
+    this.color = ColorType.fromString(color);
     this.hand = new ArrayList<>();
   }
 
@@ -35,6 +35,11 @@ public class Player implements IPlayer {
 
   @Override
   public String getColor() {
+    return this.color.name();
+  }
+
+  @Override
+  public ColorType getColorType() {
     return this.color;
   }
 
@@ -0,0 +1,455 @@
+package customer.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import customer.gamefeatures.Card;
+import customer.gamefeatures.CardCatalog;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.GameCard;
+import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.IPlayer;
+
+/**
+ * A version of the board and the hands of a game that never changes. A move makes a new version
+ * instead, which shares every cell and hand it did not change with the version before it, so
+ * holding many versions, such as every position of a replay or a search, only costs the cells
+ * each move changed. The cells are kept in a tree with eight cells or eight subtrees in every
+ * node, indexed by row * col number + col, and a new version only copies the nodes on the way
+ * to the cells it changed. The hand of the player who did not move is shared as it is.
+ * A card is kept as its code in the CardCatalog of the game, so a cell is an int and a hand
+ * is an int[], and every card given out is built again from its code.
+ */
+public final class BoardSnapshot {
+  private static final int BITS = 3;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+
+  private final CardCatalog catalog;
+  private final int row;
+  private final int col;
+  // the holes of the grid, shared by every version
+  private final boolean[] holes;
+  // the number of bits of the cell index used by the levels above the leaves, the leaves are
+  // int[] holding the code of the card plus one, zero for a hole or an empty card cell
+  private final int shift;
+  private final Object root;
+  private final int[] handA;
+  private final int[] handB;
+  private final ColorType currentTurn;
+  private final int redOnGrid;
+  private final int blueOnGrid;
+  private final int openCells;
+
+  private BoardSnapshot(CardCatalog catalog, int row, int col, boolean[] holes, int shift,
+                        Object root, int[] handA, int[] handB, ColorType currentTurn,
+                        int redOnGrid, int blueOnGrid, int openCells) {
+    this.catalog = catalog;
+    this.row = row;
+    this.col = col;
+    this.holes = holes;
+    this.shift = shift;
+    this.root = root;
+    this.handA = handA;
+    this.handB = handB;
+    this.currentTurn = currentTurn;
+    this.redOnGrid = redOnGrid;
+    this.blueOnGrid = blueOnGrid;
+    this.openCells = openCells;
+  }
+
+  /**
+   * Make the first version from a game, taking the code of every card on the grid and in
+   * the hands.
+   *
+   * @param catalog     The catalog of the cards of the game.
+   * @param grid        The game grid.
+   * @param playerA     The red player.
+   * @param playerB     The blue player.
+   * @param currentTurn The color of the player to move.
+   * @return The snapshot of the game.
+   */
+  static BoardSnapshot of(CardCatalog catalog, IGameGrid grid, IPlayer playerA,
+                          IPlayer playerB, ColorType currentTurn) {
+    int row = grid.getRow();
+    int col = grid.getCol();
+    int shift = 0;
+    while ((WIDTH << shift) < row * col) {
+      shift += BITS;
+    }
+    boolean[] holes = new boolean[row * col];
+    Editor editor = new Editor(null, shift);
+    int red = 0;
+    int blue = 0;
+    int open = 0;
+    for (int i = 0; i < row; i += 1) {
+      for (int j = 0; j < col; j += 1) {
+        if (grid.hasCard(j, i)) {
+          Card card = grid.getCard(j, i);
+          editor.set(i * col + j, catalog.codeOf(card));
+          if (card.getColorType() == ColorType.RED) {
+            red += 1;
+          } else {
+            blue += 1;
+          }
+        } else if (grid.isOpen(j, i)) {
+          open += 1;
+        } else {
+          holes[i * col + j] = true;
+        }
+      }
+    }
+    return new BoardSnapshot(catalog, row, col, holes, shift, editor.root,
+            codesOf(catalog, playerA), codesOf(catalog, playerB), currentTurn, red, blue, open);
+  }
+
+  /**
+   * Get the codes of the cards in the hand of a player.
+   */
+  private static int[] codesOf(CardCatalog catalog, IPlayer player) {
+    List<Card> hand = player.getHand();
+    int[] codes = new int[hand.size()];
+    for (int i = 0; i < codes.length; i += 1) {
+      codes[i] = catalog.codeOf(hand.get(i));
+    }
+    return codes;
+  }
+
+  /**
+   * Make the version after a card of a hand is played to an empty card cell, without battling.
+   *
+   * @param owner   The color of the player whose hand the card is in.
+   * @param cardIdx The index of the card in the hand.
+   * @param row     The row of the cell.
+   * @param col     The col of the cell.
+   * @return The new version.
+   * @throws IllegalArgumentException if the card or the cell does not exist or the cell is
+   *                                  not an empty card cell.
+   */
+  public BoardSnapshot play(ColorType owner, int cardIdx, int row, int col) {
+    int[] hand = getOwnHand(owner);
+    if (cardIdx < 0 || cardIdx >= hand.length) {
+      throw new IllegalArgumentException("There is no card at index " + cardIdx);
+    }
+    if (!isOpen(row, col)) {
+      throw new IllegalArgumentException("Cards could only be played to empty card cells.");
+    }
+    int code = hand[cardIdx];
+    int[] rest = new int[hand.length - 1];
+    System.arraycopy(hand, 0, rest, 0, cardIdx);
+    System.arraycopy(hand, cardIdx + 1, rest, cardIdx, rest.length - cardIdx);
+    Editor editor = new Editor(this.root, this.shift);
+    editor.set(row * this.col + col, code);
+    boolean red = CardCatalog.owner(code) == ColorType.RED;
+    return new BoardSnapshot(this.catalog, this.row, this.col, this.holes, this.shift,
+            editor.root, owner == ColorType.RED ? rest : this.handA,
+            owner == ColorType.RED ? this.handB : rest, this.currentTurn,
+            this.redOnGrid + (red ? 1 : 0), this.blueOnGrid + (red ? 0 : 1),
+            this.openCells - 1);
+  }
+
+  /**
+   * Make the version after the cards on the given cells are flipped, in the given order.
+   *
+   * @param cells The cells, with the row as x and the col as y, as in the flip trace of a battle.
+   * @return The new version, or this one if there are no cells.
+   * @throws IllegalArgumentException if there is no card on one of the cells.
+   */
+  public BoardSnapshot flip(List<Point> cells) {
+    if (cells.isEmpty()) {
+      return this;
+    }
+    Editor editor = new Editor(this.root, this.shift);
+    int red = this.redOnGrid;
+    int blue = this.blueOnGrid;
+    for (Point cell : cells) {
+      int index = cell.x * this.col + cell.y;
+      int code = cell.x < 0 || cell.x >= this.row || cell.y < 0 || cell.y >= this.col
+              ? -1 : editor.get(index);
+      if (code < 0) {
+        throw new IllegalArgumentException("Only game cards on the grid could be flipped.");
+      }
+      int flipped = CardCatalog.flip(code);
+      editor.set(index, flipped);
+      if (CardCatalog.owner(flipped) == ColorType.RED) {
+        red += 1;
+        blue -= 1;
+      } else {
+        red -= 1;
+        blue += 1;
+      }
+    }
+    return new BoardSnapshot(this.catalog, this.row, this.col, this.holes, this.shift,
+            editor.root, this.handA, this.handB, this.currentTurn, red, blue, this.openCells);
+  }
+
+  /**
+   * Make the version with the given player to move.
+   *
+   * @param turn The color of the player to move.
+   * @return The new version, or this one if it is the same player.
+   */
+  public BoardSnapshot withTurn(ColorType turn) {
+    if (turn == this.currentTurn) {
+      return this;
+    }
+    return new BoardSnapshot(this.catalog, this.row, this.col, this.holes, this.shift,
+            this.root, this.handA, this.handB, turn, this.redOnGrid, this.blueOnGrid,
+            this.openCells);
+  }
+
+  /**
+   * Get the number of rows of the grid.
+   *
+   * @return The number of rows.
+   */
+  public int getRow() {
+    return this.row;
+  }
+
+  /**
+   * Get the number of cols of the grid.
+   *
+   * @return The number of cols.
+   */
+  public int getCol() {
+    return this.col;
+  }
+
+  /**
+   * Get whether a cell is a hole.
+   *
+   * @param row The row of the cell.
+   * @param col The col of the cell.
+   * @return True if the cell is a hole.
+   */
+  public boolean isHole(int row, int col) {
+    checkCell(row, col);
+    return this.holes[row * this.col + col];
+  }
+
+  /**
+   * Get whether a cell is an empty card cell.
+   *
+   * @param row The row of the cell.
+   * @param col The col of the cell.
+   * @return True if a card could be played to the cell.
+   */
+  public boolean isOpen(int row, int col) {
+    if (row < 0 || row >= this.row || col < 0 || col >= this.col) {
+      return false;
+    }
+    int index = row * this.col + col;
+    return !this.holes[index] && codeAt(this.root, this.shift, index) < 0;
+  }
+
+  /**
+   * Get the card on a cell.
+   *
+   * @param row The row of the cell.
+   * @param col The col of the cell.
+   * @return A new card object, or null if the cell is a hole or an empty card cell.
+   */
+  public Card getCard(int row, int col) {
+    int code = getCardCode(row, col);
+    return code < 0 ? null : this.catalog.card(code);
+  }
+
+  /**
+   * Get the code in the CardCatalog of the card on a cell.
+   *
+   * @param row The row of the cell.
+   * @param col The col of the cell.
+   * @return The code, or -1 if the cell is a hole or an empty card cell.
+   */
+  public int getCardCode(int row, int col) {
+    checkCell(row, col);
+    return codeAt(this.root, this.shift, row * this.col + col);
+  }
+
+  /**
+   * Get the cards in the hand of a player.
+   *
+   * @param color The color of the player.
+   * @return New card objects, in a list that could not be changed.
+   */
+  public List<Card> getHand(ColorType color) {
+    List<Card> hand = new ArrayList<>();
+    for (int code : getOwnHand(color)) {
+      hand.add(this.catalog.card(code));
+    }
+    return Collections.unmodifiableList(hand);
+  }
+
+  /**
+   * Get the codes in the CardCatalog of the cards in the hand of a player.
+   *
+   * @param color The color of the player.
+   * @return A copy of the codes.
+   */
+  public int[] getHandCodes(ColorType color) {
+    return getOwnHand(color).clone();
+  }
+
+  /**
+   * Get the number of cards in the hand of a player.
+   *
+   * @param color The color of the player.
+   * @return The number of cards.
+   */
+  public int getHandSize(ColorType color) {
+    return getOwnHand(color).length;
+  }
+
+  /**
+   * Get the catalog the codes of the cards refer to.
+   *
+   * @return The catalog.
+   */
+  public CardCatalog getCatalog() {
+    return this.catalog;
+  }
+
+  /**
+   * Get the color of the player to move.
+   *
+   * @return The color.
+   */
+  public ColorType getCurrentTurn() {
+    return this.currentTurn;
+  }
+
+  /**
+   * Get the number of cards of a color on the grid.
+   *
+   * @param color The color of the cards.
+   * @return The number of cards.
+   */
+  public int countCardOnGrid(ColorType color) {
+    return color == ColorType.RED ? this.redOnGrid : this.blueOnGrid;
+  }
+
+  /**
+   * Get the number of empty card cells.
+   *
+   * @return The number of empty card cells.
+   */
+  public int getOpenCells() {
+    return this.openCells;
+  }
+
+  /**
+   * Get whether the game is over, when there are no empty card cells left.
+   *
+   * @return True if the game is over.
+   */
+  public boolean isOver() {
+    return this.openCells == 0;
+  }
+
+  /**
+   * Get the grid as a 2D-array in the format of IGameGrid: a hole is a card named X,
+   * an empty card cell is a card named C, and every card is a copy.
+   *
+   * @return The grid.
+   */
+  public Card[][] toGrid() {
+    Card[][] grid = new Card[this.row][this.col];
+    for (int i = 0; i < this.row; i += 1) {
+      for (int j = 0; j < this.col; j += 1) {
+        int index = i * this.col + j;
+        int code = codeAt(this.root, this.shift, index);
+        if (code >= 0) {
+          grid[i][j] = this.catalog.card(code);
+        } else if (this.holes[index]) {
+          grid[i][j] = new GameCard("X", "GRAY", 0, 0, 0, 0);
+        } else {
+          grid[i][j] = new GameCard("C", "YELLOW", 0, 0, 0, 0);
+        }
+      }
+    }
+    return grid;
+  }
+
+  /**
+   * Get the code of the card on a cell of a tree, or -1 if there is none.
+   */
+  private static int codeAt(Object root, int shift, int index) {
+    Object node = root;
+    for (int level = shift; level > 0 && node != null; level -= BITS) {
+      node = ((Object[]) node)[(index >>> level) & MASK];
+    }
+    return node == null ? -1 : ((int[]) node)[index & MASK] - 1;
+  }
+
+  /**
+   * Get the hand of this version of a player, which must not be given out.
+   */
+  private int[] getOwnHand(ColorType color) {
+    if (color == ColorType.RED) {
+      return this.handA;
+    } else if (color == ColorType.BLUE) {
+      return this.handB;
+    }
+    throw new IllegalArgumentException("Unknown player color: " + color);
+  }
+
+  private void checkCell(int row, int col) {
+    if (row < 0 || row >= this.row || col < 0 || col >= this.col) {
+      throw new IllegalArgumentException("Invalid cell: " + row + ", " + col);
+    }
+  }
+
+  /**
+   * Makes the tree of a new version from the tree of an old one. The first change under a node
+   * copies it, and later changes under the same node change the copy, so a node is copied
+   * at most once for every new version however many of its cells change.
+   */
+  private static final class Editor {
+    private final int shift;
+    private final Set<Object> copied;
+    private Object root;
+
+    Editor(Object root, int shift) {
+      this.shift = shift;
+      this.copied = Collections.newSetFromMap(new IdentityHashMap<>());
+      this.root = own(root, shift > 0);
+    }
+
+    /**
+     * Get a node that could be changed, copying it if it belongs to the old version.
+     */
+    private Object own(Object node, boolean inner) {
+      if (node != null && this.copied.contains(node)) {
+        return node;
+      }
+      if (node == null) {
+        node = inner ? new Object[WIDTH] : new int[WIDTH];
+      } else {
+        node = inner ? ((Object[]) node).clone() : ((int[]) node).clone();
+      }
+      this.copied.add(node);
+      return node;
+    }
+
+    int get(int index) {
+      return codeAt(this.root, this.shift, index);
+    }
+
+    void set(int index, int code) {
+      Object node = this.root;
+      for (int level = this.shift; level > 0; level -= BITS) {
+        Object[] inner = (Object[]) node;
+        int slot = (index >>> level) & MASK;
+        Object child = own(inner[slot], level > BITS);
+        inner[slot] = child;
+        node = child;
+      }
+      ((int[]) node)[index & MASK] = code + 1;
+    }
+  }
+}
@@ -0,0 +1,416 @@
+package customer.model;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import customer.gamefeatures.BattleType;
+import customer.gamefeatures.Card;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.IPlayer;
+import customer.gamefeatures.ModType;
+import customer.gamefeatures.Player;
+
+/**
+ * A ThreeTriosGameModel that could be used from many threads at once, such as the game loop,
+ * the event dispatch thread and the AI. It has a single writer at a time and many readers:
+ * every method changing the game takes a lock, changes the model, and then publishes the new
+ * version of its BoardSnapshot through a volatile field. A version shares everything a move did
+ * not change with the one before it, so publishing costs about the cells changed. Every method
+ * reading the game reads the latest version, which is never changed once published, so readers
+ * never block and never see a move half played, as long as the move is made with one write,
+ * playAndBattle or applyMove, rather than with playToGrid and battle apart. The reads
+ * the version cannot answer by itself, such as the hints, are answered by a model made from it
+ * the first time one is needed.
+ * getSnapshot gives such a model to read many things from the same position.
+ * The players given out are views of the latest version, so a player kept from before a move
+ * shows the hand after it, and players given to the methods changing the game are matched to
+ * the model by their color. Searching many moves with applyMove and undoMove publishes
+ * a version every time, so strategies should search a copy from copyGameModel instead.
+ * The callbacks of getTurnCompletion are run after the lock is released.
+ */
+public class ConcurrentThreeTriosModel implements ThreeTriosModel {
+  private final ThreeTriosGameModel model;
+  private final Object writeLock = new Object();
+  private final IPlayer playerA;
+  private final IPlayer playerB;
+  // null until the game starts
+  private volatile Version version;
+  private volatile CompletableFuture<ColorType> turnCompletion = new CompletableFuture<>();
+
+  /**
+   * Constructor for ConcurrentThreeTriosModel.
+   *
+   * @param model The model to guard, which must not be used other than through this one.
+   */
+  public ConcurrentThreeTriosModel(ThreeTriosGameModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("The model cannot be null.");
+    }
+    this.model = model;
+    this.playerA = new SnapshotPlayer(ColorType.RED);
+    this.playerB = new SnapshotPlayer(ColorType.BLUE);
+  }
+
+  /**
+   * Get the latest snapshot of the game, which never changes.
+   *
+   * @return The snapshot.
+   */
+  public ReadonlyThreeTriosModel getSnapshot() {
+    return read();
+  }
+
+  /**
+   * Get the latest version.
+   */
+  private Version latest() {
+    Version current = this.version;
+    if (current == null) {
+      throw new IllegalStateException("The game has not started yet.");
+    }
+    return current;
+  }
+
+  /**
+   * Get the model of the latest version.
+   */
+  private ThreeTriosGameModel read() {
+    return latest().model();
+  }
+
+  /**
+   * Publish the version of the model, only called while holding the lock.
+   */
+  private void publish() {
+    this.version = new Version(this.model.getBoardSnapshot(),
+            this.model.hasCurrentPlayerMoved(), this.model.getLastFlipTrace());
+  }
+
+  /**
+   * Get the player of the model with the color of the given player.
+   */
+  private IPlayer playerOf(IPlayer player) {
+    return player.getColorType() == ColorType.RED
+            ? this.model.getPlayerA() : this.model.getPlayerB();
+  }
+
+  @Override
+  public void startGame(String gridFilePath, String cardFilePath, boolean shuffle) {
+    synchronized (this.writeLock) {
+      this.model.startGame(gridFilePath, cardFilePath, shuffle);
+      publish();
+    }
+  }
+
+  /**
+   * Set the battle and modification types of every card in the hands of both players.
+   * The cards given out by the players are copies in a version, so setting the types on them
+   * does not change the game, and this must be called once the game has started instead.
+   *
+   * @param battleType The battle mode.
+   * @param modType    The modification add-on to the battle mode.
+   */
+  public void setVariant(BattleType battleType, ModType modType) {
+    synchronized (this.writeLock) {
+      read();
+      for (IPlayer player : List.of(this.model.getPlayerA(), this.model.getPlayerB())) {
+        for (Card card : player.getHand()) {
+          card.setBattleType(battleType);
+          card.setModType(modType);
+        }
+      }
+      this.model.discardBoardSnapshot();
+      publish();
+    }
+  }
+
+  @Override
+  public void playToGrid(int cardIdx, int x, int y, IPlayer player) {
+    synchronized (this.writeLock) {
+      this.model.playToGrid(cardIdx, x, y, playerOf(player));
+      publish();
+    }
+  }
+
+  @Override
+  public void battle(Card card, int x, int y, String cardColor) {
+    battle(card, x, y, ColorType.fromString(cardColor));
+  }
+
+  @Override
+  public void battle(Card card, int x, int y, ColorType cardColor) {
+    synchronized (this.writeLock) {
+      this.model.battle(card, x, y, cardColor);
+      publish();
+    }
+  }
+
+  @Override
+  public void playAndBattle(int cardIdx, int x, int y, IPlayer player) {
+    synchronized (this.writeLock) {
+      this.model.playAndBattle(cardIdx, x, y, playerOf(player));
+      publish();
+    }
+  }
+
+  @Override
+  public MoveRecord applyMove(int cardIdx, int x, int y, IPlayer player) {
+    synchronized (this.writeLock) {
+      MoveRecord record = this.model.applyMove(cardIdx, x, y, playerOf(player));
+      publish();
+      return record;
+    }
+  }
+
+  @Override
+  public void undoMove() {
+    synchronized (this.writeLock) {
+      this.model.undoMove();
+      publish();
+    }
+  }
+
+  @Override
+  public void setCurrentPlayerMoved(boolean moved) {
+    CompletableFuture<ColorType> ended;
+    ColorType mover;
+    synchronized (this.writeLock) {
+      this.model.setCurrentPlayerMoved(moved);
+      publish();
+      ended = this.turnCompletion;
+      mover = this.model.getCurrentPlayerColor();
+      if (!moved && ended.isDone()) {
+        this.turnCompletion = new CompletableFuture<>();
+      }
+    }
+    if (moved) {
+      ended.complete(mover);
+    }
+  }
+
+  @Override
+  public void switchToNextPlayer() {
+    synchronized (this.writeLock) {
+      this.model.switchToNextPlayer();
+      this.turnCompletion = new CompletableFuture<>();
+      publish();
+    }
+  }
+
+  @Override
+  public CompletableFuture<ColorType> getTurnCompletion() {
+    latest();
+    return this.turnCompletion;
+  }
+
+  @Override
+  public boolean hasCurrentPlayerMoved() {
+    return latest().moved;
+  }
+
+  @Override
+  public ThreeTriosModel copyGameModel() {
+    return read().copyGameModel();
+  }
+
+  @Override
+  public int countCardOnGrid(String color) {
+    return read().countCardOnGrid(color);
+  }
+
+  @Override
+  public int countCardOnGrid(ColorType color) {
+    return latest().board.countCardOnGrid(color);
+  }
+
+  @Override
+  public boolean isOver() {
+    return latest().board.isOver();
+  }
+
+  @Override
+  public IPlayer getWinner() {
+    BoardSnapshot board = latest().board;
+    int red = board.countCardOnGrid(ColorType.RED);
+    int blue = board.countCardOnGrid(ColorType.BLUE);
+    if (red == blue) {
+      return null;
+    }
+    return red > blue ? this.playerA : this.playerB;
+  }
+
+  @Override
+  public IPlayer getPlayerA() {
+    latest();
+    return this.playerA;
+  }
+
+  @Override
+  public IPlayer getPlayerB() {
+    latest();
+    return this.playerB;
+  }
+
+  @Override
+  public IGameGrid getGameGrid() {
+    return read().getGameGrid();
+  }
+
+  @Override
+  public String getCurrentPlayer() {
+    ColorType turn = latest().board.getCurrentTurn();
+    return turn == null ? "" : turn.name();
+  }
+
+  @Override
+  public ColorType getCurrentPlayerColor() {
+    return latest().board.getCurrentTurn();
+  }
+
+  @Override
+  public int getNumCardsCanFlip(int cardIdx, int x, int y, IPlayer player) {
+    ThreeTriosGameModel current = read();
+    IPlayer own = player.getColorType() == ColorType.RED
+            ? current.getPlayerA() : current.getPlayerB();
+    return current.getNumCardsCanFlip(cardIdx, x, y, own);
+  }
+
+  @Override
+  public int[][] getFlipCounts(int cardIdx, IPlayer player) {
+    return read().getFlipCounts(cardIdx, player);
+  }
+
+  @Override
+  public int getAPlayerScore(IPlayer player) {
+    return latest().board.countCardOnGrid(player.getColorType());
+  }
+
+  @Override
+  public Card[][] getCopyOfGameGrid() {
+    return latest().board.toGrid();
+  }
+
+  @Override
+  public BoardSnapshot getBoardSnapshot() {
+    return latest().board;
+  }
+
+  @Override
+  public List<Point> getLastFlipTrace() {
+    return latest().flipTrace;
+  }
+
+  @Override
+  public long getPositionHash() {
+    return read().getPositionHash();
+  }
+
+  @Override
+  public long getCanonicalHash() {
+    return read().getCanonicalHash();
+  }
+
+  @Override
+  public int getCanonicalSymmetry() {
+    return read().getCanonicalSymmetry();
+  }
+
+  @Override
+  public GridSymmetry getSymmetry() {
+    return read().getSymmetry();
+  }
+
+  @Override
+  public List<Card> returnAllCards() {
+    return read().returnAllCards();
+  }
+
+  /**
+   * A published version of the game: the board snapshot, what the snapshot does not hold,
+   * and the model made from it once a read needs one.
+   */
+  private final class Version {
+    private final BoardSnapshot board;
+    private final boolean moved;
+    private final List<Point> flipTrace;
+    private volatile ThreeTriosGameModel restored;
+
+    Version(BoardSnapshot board, boolean moved, List<Point> flipTrace) {
+      this.board = board;
+      this.moved = moved;
+      this.flipTrace = Collections.unmodifiableList(new ArrayList<>(flipTrace));
+    }
+
+    /**
+     * Get the model of this version. Two readers could both make it at once, which is harmless
+     * as the models are the same and only one of them is kept.
+     */
+    ThreeTriosGameModel model() {
+      ThreeTriosGameModel current = this.restored;
+      if (current == null) {
+        current = ConcurrentThreeTriosModel.this.model.restore(this.board, this.moved,
+                this.flipTrace);
+        this.restored = current;
+      }
+      return current;
+    }
+  }
+
+  /**
+   * A player whose hand is always the hand in the latest version.
+   */
+  private final class SnapshotPlayer implements IPlayer {
+    private final ColorType color;
+
+    SnapshotPlayer(ColorType color) {
+      this.color = color;
+    }
+
+    @Override
+    public String getColor() {
+      return this.color.name();
+    }
+
+    @Override
+    public ColorType getColorType() {
+      return this.color;
+    }
+
+    @Override
+    public void addCardsToHand(Card card) {
+      synchronized (writeLock) {
+        playerOf(this).addCardsToHand(card);
+        model.discardBoardSnapshot();
+        publish();
+      }
+    }
+
+    @Override
+    public Card getCardFromHand(int index) {
+      List<Card> hand = getHand();
+      if (index < 0 || index > hand.size() - 1) {
+        throw new IllegalArgumentException(
+                "The given hand card index should between 0 and the hand card size for now.");
+      }
+      return hand.get(index);
+    }
+
+    @Override
+    public List<Card> getHand() {
+      return latest().board.getHand(this.color);
+    }
+
+    @Override
+    public IPlayer copy() {
+      Player copy = new Player(getColor());
+      for (Card card : getHand()) {
+        copy.addCardsToHand(card);
+      }
+      return copy;
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package customer.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import customer.gamefeatures.Card;
+import customer.gamefeatures.DirectionType;
+import customer.gamefeatures.IGameGrid;
+
+/**
+ * The symmetries of a game grid, the reflections and rotations of the grid that keep every
+ * hole where a hole is. Rotations by a quarter turn only exist for square grids.
+ * A symmetry also turns the cards: the attack value facing east faces west after a left-right
+ * reflection, so a position and its image under a symmetry, with every card turned the same
+ * way, always have the same outcome. The identity is always the symmetry at index 0.
+ * Positions are indexed by row * col number + col.
+ */
+public final class GridSymmetry {
+  // for every transform, the direction each of north, south, east and west is turned into
+  private static final DirectionType[][] DIRECTION_MAPS = {
+    {DirectionType.NORTH, DirectionType.SOUTH, DirectionType.EAST, DirectionType.WEST},
+    {DirectionType.NORTH, DirectionType.SOUTH, DirectionType.WEST, DirectionType.EAST},
+    {DirectionType.SOUTH, DirectionType.NORTH, DirectionType.EAST, DirectionType.WEST},
+    {DirectionType.SOUTH, DirectionType.NORTH, DirectionType.WEST, DirectionType.EAST},
+    {DirectionType.WEST, DirectionType.EAST, DirectionType.SOUTH, DirectionType.NORTH},
+    {DirectionType.EAST, DirectionType.WEST, DirectionType.NORTH, DirectionType.SOUTH},
+    {DirectionType.EAST, DirectionType.WEST, DirectionType.SOUTH, DirectionType.NORTH},
+    {DirectionType.WEST, DirectionType.EAST, DirectionType.NORTH, DirectionType.SOUTH},
+  };
+  private static final DirectionType[] DIRECTIONS = {
+    DirectionType.NORTH, DirectionType.SOUTH, DirectionType.EAST, DirectionType.WEST
+  };
+
+  private final int[] transforms;
+  private final int[][] cellMaps;
+
+  private GridSymmetry(int[] transforms, int[][] cellMaps) {
+    this.transforms = transforms;
+    this.cellMaps = cellMaps;
+  }
+
+  /**
+   * Find the symmetries of the hole layout of the given grid. Cards already on the grid are
+   * not holes.
+   *
+   * @param grid The game grid.
+   * @return The symmetries of the grid.
+   */
+  public static GridSymmetry of(IGameGrid grid) {
+    int rows = grid.getRow();
+    int cols = grid.getCol();
+    boolean[] isHole = new boolean[rows * cols];
+    for (int i = 0; i < rows; i += 1) {
+      for (int j = 0; j < cols; j += 1) {
+        isHole[i * cols + j] = !grid.isOpen(j, i) && !grid.hasCard(j, i);
+      }
+    }
+    int count = rows == cols ? DIRECTION_MAPS.length : 4;
+    List<Integer> found = new ArrayList<>();
+    List<int[]> maps = new ArrayList<>();
+    for (int transform = 0; transform < count; transform += 1) {
+      int[] map = new int[rows * cols];
+      boolean keepsHoles = true;
+      for (int i = 0; i < rows; i += 1) {
+        for (int j = 0; j < cols; j += 1) {
+          map[i * cols + j] = mapPosition(transform, i, j, rows, cols);
+          if (isHole[i * cols + j] != isHole[map[i * cols + j]]) {
+            keepsHoles = false;
+          }
+        }
+      }
+      if (keepsHoles) {
+        found.add(transform);
+        maps.add(map);
+      }
+    }
+    int[] transforms = new int[found.size()];
+    for (int i = 0; i < transforms.length; i += 1) {
+      transforms[i] = found.get(i);
+    }
+    return new GridSymmetry(transforms, maps.toArray(new int[0][]));
+  }
+
+  /**
+   * Get the number of symmetries of the grid, including the identity.
+   *
+   * @return The number of symmetries, between 1 and 8.
+   */
+  public int size() {
+    return this.transforms.length;
+  }
+
+  /**
+   * Get the position a cell is moved to by a symmetry.
+   *
+   * @param symmetry The index of the symmetry.
+   * @param cell     The cell, row * col number + col.
+   * @return The cell it is moved to.
+   */
+  public int mapCell(int symmetry, int cell) {
+    return this.cellMaps[symmetry][cell];
+  }
+
+  /**
+   * Get the direction a direction is turned into by a symmetry.
+   *
+   * @param symmetry  The index of the symmetry.
+   * @param direction The direction.
+   * @return The direction it is turned into.
+   */
+  public DirectionType mapDirection(int symmetry, DirectionType direction) {
+    return DIRECTION_MAPS[this.transforms[symmetry]][direction.ordinal()];
+  }
+
+  /**
+   * Get the card key, see ZobristKeys, of a card turned by a symmetry.
+   *
+   * @param symmetry The index of the symmetry.
+   * @param card     The card.
+   * @return The key of the turned card.
+   */
+  public long cardKey(int symmetry, Card card) {
+    if (symmetry == 0) {
+      return ZobristKeys.cardKey(card);
+    }
+    int[] nums = new int[DIRECTIONS.length];
+    for (DirectionType direction : DIRECTIONS) {
+      nums[mapDirection(symmetry, direction).ordinal()] = card.getNum(direction);
+    }
+    return ZobristKeys.cardKey(card.getName(), nums[DirectionType.NORTH.ordinal()],
+            nums[DirectionType.SOUTH.ordinal()], nums[DirectionType.EAST.ordinal()],
+            nums[DirectionType.WEST.ordinal()]);
+  }
+
+  /**
+   * Work out the position the cell at the given row and col is moved to by a transform.
+   */
+  private static int mapPosition(int transform, int row, int col, int rows, int cols) {
+    int newRow;
+    int newCol;
+    switch (transform) {
+      case 0:
+        newRow = row;
+        newCol = col;
+        break;
+      case 1: // left-right reflection
+        newRow = row;
+        newCol = cols - 1 - col;
+        break;
+      case 2: // up-down reflection
+        newRow = rows - 1 - row;
+        newCol = col;
+        break;
+      case 3: // half turn
+        newRow = rows - 1 - row;
+        newCol = cols - 1 - col;
+        break;
+      case 4: // reflection on the main diagonal
+        newRow = col;
+        newCol = row;
+        break;
+      case 5: // reflection on the other diagonal
+        newRow = rows - 1 - col;
+        newCol = cols - 1 - row;
+        break;
+      case 6: // quarter turn clockwise
+        newRow = col;
+        newCol = cols - 1 - row;
+        break;
+      case 7: // quarter turn counterclockwise
+        newRow = rows - 1 - col;
+        newCol = row;
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown transform: " + transform);
+    }
+    return newRow * cols + newCol;
+  }
+}
@@ -0,0 +1,125 @@
+package customer.model;
+
+import java.awt.Point;
+import java.util.List;
+
+import customer.gamefeatures.Card;
+import customer.gamefeatures.ColorType;
+
+/**
+ * Records a move applied to the model with applyMove, including everything that is needed
+ * to revert the move exactly with undoMove: the card played and its index in hand,
+ * the cells flipped during the battle, and whose turn it was before the move.
+ */
+public final class MoveRecord {
+  private final Card card;
+  private final int cardIdx;
+  private final int x;
+  private final int y;
+  private final ColorType playerColor;
+  private final ColorType previousTurn;
+  private final boolean previousPlayerAMoved;
+  private final boolean previousPlayerBMoved;
+  private final List<Point> flips;
+  private final BoardSnapshot boardBefore;
+
+  /**
+   * Constructor for MoveRecord.
+   *
+   * @param card                 The card played to the grid.
+   * @param cardIdx              The index of the card in the player's hand.
+   * @param x                    The row the card is played to.
+   * @param y                    The col the card is played to.
+   * @param playerColor          The color of the player making the move.
+   * @param previousTurn         The current player before the move.
+   * @param previousPlayerAMoved Whether player A had moved in this round before the move.
+   * @param previousPlayerBMoved Whether player B had moved in this round before the move.
+   * @param flips                The cells flipped in the battle, in the order they were flipped.
+   * @param boardBefore          The board snapshot before the move, or null if none was kept.
+   */
+  MoveRecord(Card card, int cardIdx, int x, int y, ColorType playerColor, ColorType previousTurn,
+             boolean previousPlayerAMoved, boolean previousPlayerBMoved, List<Point> flips,
+             BoardSnapshot boardBefore) {
+    this.card = card;
+    this.cardIdx = cardIdx;
+    this.x = x;
+    this.y = y;
+    this.playerColor = playerColor;
+    this.previousTurn = previousTurn;
+    this.previousPlayerAMoved = previousPlayerAMoved;
+    this.previousPlayerBMoved = previousPlayerBMoved;
+    this.flips = flips;
+    this.boardBefore = boardBefore;
+  }
+
+  /**
+   * Gets the card played in this move.
+   *
+   * @return The card played.
+   */
+  public Card getCard() {
+    return card;
+  }
+
+  /**
+   * Gets the index the card had in the player's hand.
+   *
+   * @return The card index.
+   */
+  public int getCardIdx() {
+    return cardIdx;
+  }
+
+  /**
+   * Gets the row the card is played to.
+   *
+   * @return The row of the move.
+   */
+  public int getX() {
+    return x;
+  }
+
+  /**
+   * Gets the col the card is played to.
+   *
+   * @return The col of the move.
+   */
+  public int getY() {
+    return y;
+  }
+
+  /**
+   * Gets the color of the player who made this move.
+   *
+   * @return The player color.
+   */
+  public ColorType getPlayerColor() {
+    return playerColor;
+  }
+
+  /**
+   * Gets the cells flipped in the battle of this move, in the order they were flipped.
+   * Each point stores the row as x and the col as y.
+   *
+   * @return The flipped cells.
+   */
+  public List<Point> getFlips() {
+    return flips;
+  }
+
+  ColorType getPreviousTurn() {
+    return previousTurn;
+  }
+
+  boolean getPreviousPlayerAMoved() {
+    return previousPlayerAMoved;
+  }
+
+  boolean getPreviousPlayerBMoved() {
+    return previousPlayerBMoved;
+  }
+
+  BoardSnapshot getBoardBefore() {
+    return boardBefore;
+  }
+}
@@ -1,8 +1,10 @@
 package customer.model;
 
+import java.awt.Point;
 import java.util.List;
 
 import customer.gamefeatures.Card;
+import customer.gamefeatures.ColorType;
 import customer.gamefeatures.IGameGrid;
 import customer.gamefeatures.IPlayer;
 
@@ -54,6 +56,13 @@ public interface ReadonlyThreeTriosModel {
    */
   String getCurrentPlayer();
 
+  /**
+   * Get the color of the current player whose turn it is.
+   *
+   * @return the color of the current player.
+   */
+  ColorType getCurrentPlayerColor();
+
   /**
    * Get the number of cards that can be flipped given the parameters.
    *
@@ -65,6 +74,17 @@ public interface ReadonlyThreeTriosModel {
    */
   int getNumCardsCanFlip(int cardIdx, int x, int y, IPlayer player);
 
+  /**
+   * Get the number of cards that can be flipped by playing the given card to every empty
+   * cell of the grid at once, which is much faster than asking for each cell.
+   *
+   * @param cardIdx index of the card.
+   * @param player  player attempting the moves.
+   * @return the number of cards that can be flipped, indexed by row then col,
+   *         -1 for the cells the card cannot be played to.
+   */
+  int[][] getFlipCounts(int cardIdx, IPlayer player);
+
   /**
    * Get the score of a given player.
    *
@@ -80,6 +100,55 @@ public interface ReadonlyThreeTriosModel {
    */
   Card[][] getCopyOfGameGrid();
 
+  /**
+   * Get the board and the hands as a snapshot that never changes. Every later change makes
+   * a new version that shares what it did not change with this one.
+   *
+   * @return the snapshot of the board.
+   */
+  BoardSnapshot getBoardSnapshot();
+
+  /**
+   * Get the cells flipped in the latest battle, in the order they were flipped. Each point stores
+   * the row as x and the col as y.
+   *
+   * @return The cells flipped in the latest battle.
+   */
+  List<Point> getLastFlipTrace();
+
+  /**
+   * Get the Zobrist hash of the current position, covering which card is on which cell
+   * and who owns it, the cards left in both hands and the player to move.
+   * Two models in the same position have the same hash.
+   *
+   * @return The 64-bit hash of the current position.
+   */
+  long getPositionHash();
+
+  /**
+   * Get the hash of the current position that is the same for every position equal to it
+   * under a symmetry of the grid, with the cards turned the same way as the grid.
+   * It is the smallest of the position hashes turned by every symmetry.
+   *
+   * @return The 64-bit canonical hash of the current position.
+   */
+  long getCanonicalHash();
+
+  /**
+   * Get the index of the symmetry that turns the current position into the position of
+   * the canonical hash, so that moves could be turned the same way.
+   *
+   * @return The index of the symmetry in getSymmetry().
+   */
+  int getCanonicalSymmetry();
+
+  /**
+   * Get the symmetries of the grid found from the hole layout when the game started.
+   *
+   * @return The symmetries of the grid.
+   */
+  GridSymmetry getSymmetry();
+
   /**
    * Returns all the original cards in the game when the game started.
    *
@@ -1,15 +1,26 @@
 package customer.model;
 
+import java.awt.Point;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
 import customer.fileoperation.CardFileReader;
 import customer.fileoperation.ConfigurationReader;
 import customer.gamefeatures.Card;
+import customer.gamefeatures.CardCatalog;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.DirectionType;
+import customer.gamefeatures.GameCard;
 import customer.gamefeatures.GameGrid;
 import customer.gamefeatures.IGameGrid;
 import customer.gamefeatures.IPlayer;
+import customer.gamefeatures.PackedGameGrid;
 import customer.gamefeatures.Player;
 
 /**
@@ -22,11 +33,36 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
   private IPlayer playerA;
   private IPlayer playerB;
   private IGameGrid gameGrid;
-  private boolean playerAMoveInThisRound;
-  private boolean playerBMoveInThisRound;
+  // written on the event dispatch thread and read by the game loop
+  private volatile boolean playerAMoveInThisRound;
+  private volatile boolean playerBMoveInThisRound;
   private int numOfFlips;
-  private String currentTurn;
+  // the number of red and blue cards on the grid, kept up to date with every play and flip
+  private int redOnGrid;
+  private int blueOnGrid;
+  private volatile ColorType currentTurn;
+  // completed with the color of the player to move once they have moved, see getTurnCompletion
+  private volatile CompletableFuture<ColorType> turnCompletion = new CompletableFuture<>();
+  // the symmetries of the grid, and the Zobrist hash of the current position turned by each
+  // of them, see ZobristKeys, the hash at index 0 is the hash of the position itself
+  private GridSymmetry symmetry;
+  private long[] positionHashes;
   private List<Card> originalCards;
+  // every distinct card definition of the game, shared by every copy of this model
+  private CardCatalog catalog;
+  private boolean usePackedGrid;
+  // moves applied with applyMove that have not been undone yet, the latest on top
+  private final Deque<MoveRecord> appliedMoves = new ArrayDeque<>();
+  // the cells flipped in the latest battle, in the order they were flipped
+  private List<Point> lastFlipTrace = new ArrayList<>();
+  // the latest version of the board, kept up to date with every change once it has been asked
+  // for with getBoardSnapshot, and null until then so that a search pays nothing for it
+  private BoardSnapshot board;
+  // worklist of the cells whose neighbours still need to be battled, as row * col number + col,
+  // and whether a cell has already been put into it, reused by every battle
+  private int[] cascadeQueue;
+  private boolean[] cascadeVisited;
+  private int cascadeTail;
 
   /**
    * Constructor for the ThreeTriosGameModel, initially set the
@@ -36,7 +72,7 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
     this.isGameStart = false;
     this.playerAMoveInThisRound = false;
     this.playerBMoveInThisRound = false;
-    this.currentTurn = "";
+    this.currentTurn = null;
   }
 
   /**
@@ -50,6 +86,18 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
     this.seed = seed;
   }
 
+  /**
+   * Constructor for the ThreeTriosGameModel that could store the game grid as a PackedGameGrid,
+   * which keeps the state of every cell in primitive arrays instead of a card per cell.
+   *
+   * @param seed          Random object to shuffle the card.
+   * @param usePackedGrid Whether the game grid should be a PackedGameGrid.
+   */
+  public ThreeTriosGameModel(Random seed, boolean usePackedGrid) {
+    this(seed);
+    this.usePackedGrid = usePackedGrid;
+  }
+
   /**
    * Constructor that makes a copy of another ThreeTriosGameModel.
    *
@@ -62,10 +110,22 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
     this.playerA = new Player((Player) another.playerA);
     this.playerB = new Player((Player) another.playerB);
     this.seed = another.seed;
-    this.gameGrid = new GameGrid((GameGrid) another.gameGrid);
+    if (another.gameGrid instanceof GameGrid) {
+      this.gameGrid = new GameGrid((GameGrid) another.gameGrid);
+    } else {
+      this.gameGrid = another.gameGrid.copy();
+    }
     this.numOfFlips = 0;
+    this.redOnGrid = another.redOnGrid;
+    this.blueOnGrid = another.blueOnGrid;
     this.currentTurn = another.currentTurn;
+    this.symmetry = another.symmetry;
+    if (another.positionHashes != null) {
+      this.positionHashes = another.positionHashes.clone();
+    }
     this.originalCards = another.originalCards;
+    this.catalog = another.catalog;
+    this.usePackedGrid = another.usePackedGrid;
   }
 
   @Override
@@ -74,7 +134,11 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
       throw new IllegalStateException("Game has already started.");
     }
     this.isGameStart = true;
-    this.gameGrid = new ConfigurationReader().buildGridUsingConfigFile(gridFilePath);
+    if (usePackedGrid) {
+      this.gameGrid = new ConfigurationReader().buildPackedGridUsingConfigFile(gridFilePath);
+    } else {
+      this.gameGrid = new ConfigurationReader().buildGridUsingConfigFile(gridFilePath);
+    }
     this.playerA = new Player("RED");
     this.playerB = new Player("BLUE");
 
@@ -82,6 +146,7 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
     List<Card> allCards = new CardFileReader().getHandCardUsingConfigFile(cardFilePath,
             "RED");
     this.originalCards = allCards;
+    this.catalog = new CardCatalog(allCards);
     // check if the card number is at least N+1/2
     if (allCards.size() < (gameGrid.getCells() + 1)) {
       throw new IllegalArgumentException(
@@ -111,94 +176,346 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
       counter += 1;
     }
 
-    this.currentTurn = "RED";
+    this.redOnGrid = 0;
+    this.blueOnGrid = 0;
+    this.currentTurn = ColorType.RED;
+    this.symmetry = GridSymmetry.of(this.gameGrid);
+    this.positionHashes = computePositionHashes();
   }
 
   @Override
   public void playToGrid(int cardIdx, int x, int y, IPlayer player) {
     hasGameStartedOrOver(true);
-    String playerColor = player.getColor();
+    ColorType playerColor = player.getColorType();
     // check whether this player has already played in this round.
-    if (playerColor.equals("RED") && playerAMoveInThisRound) {
+    if (playerColor == ColorType.RED && playerAMoveInThisRound) {
       throw new IllegalStateException(
               "Player A has already moved in this round, its player B turn.");
     }
-    if (playerColor.equals("BLUE") && playerBMoveInThisRound) {
+    if (playerColor == ColorType.BLUE && playerBMoveInThisRound) {
       throw new IllegalStateException(
               "Player B has already moved in this round, its player A turn.");
     }
     // get card from the player's hand
     Card card = player.getCardFromHand(cardIdx);
     this.gameGrid.playToGrid(card, y, x);
+    addToCount(card.getColorType(), 1);
+    hashPlay(card, x * this.gameGrid.getCol() + y, playerColor);
     //only removes the card, if no IllegalArgumentException was thrown from playToGrid
     // update player status in this up.
-    if (playerColor.equals("RED")) {
+    if (playerColor == ColorType.RED) {
       this.getPlayerA().getHand().remove(card);
       this.playerAMoveInThisRound = true;
     } else {
       this.getPlayerB().getHand().remove(card);
       this.playerBMoveInThisRound = true;
     }
+    if (this.board != null) {
+      this.board = this.board.play(playerColor, cardIdx, x, y);
+    }
   }
 
   @Override
   public void battle(Card card, int x, int y, String cardColor) {
+    battle(card, x, y, ColorType.fromString(cardColor));
+  }
+
+  @Override
+  public void battle(Card card, int x, int y, ColorType cardColor) {
     hasGameStartedOrOver(false);
-    // Battle the east card
-    if (this.gameGrid.hasCard(y + 1, x)) {
-      Card cardAtEast = this.gameGrid.getGrid()[x][y + 1];
-      if (card.compare(cardAtEast, "east")) {
-        cardAtEast.reverseColor();
-        this.numOfFlips += 1;
-        this.gameGrid.getGrid()[x][y + 1] = cardAtEast;
-        // Recursively battle the next card in the east direction
-        battle(cardAtEast, x, y + 1, cardColor);
-      }
+    int cols = this.gameGrid.getCol();
+    int size = this.gameGrid.getRow() * cols;
+    if (this.cascadeQueue == null || this.cascadeQueue.length < size) {
+      this.cascadeQueue = new int[size];
+      this.cascadeVisited = new boolean[size];
     }
-    // Battle the west card
-    if (this.gameGrid.hasCard(y - 1, x)) {
-      Card cardAtWest = this.gameGrid.getGrid()[x][y - 1];
-      if (card.compare(cardAtWest, "west")) {
-        cardAtWest.reverseColor();
-        this.numOfFlips += 1;
-        this.gameGrid.getGrid()[x][y - 1] = cardAtWest;
-        // Recursively battle the next card in the west direction
-        battle(cardAtWest, x, y - 1, cardColor);
+    List<Point> trace = new ArrayList<>();
+    // every cell gets into the worklist at most once, either the played card or a flipped card
+    this.cascadeQueue[0] = x * cols + y;
+    this.cascadeVisited[x * cols + y] = true;
+    this.cascadeTail = 1;
+    // a packed grid is battled on its packed cells, so no card object is built per probe
+    PackedGameGrid packed = this.gameGrid instanceof PackedGameGrid
+            ? (PackedGameGrid) this.gameGrid : null;
+    for (int head = 0; head < this.cascadeTail; head += 1) {
+      int cellX = this.cascadeQueue[head] / cols;
+      int cellY = this.cascadeQueue[head] % cols;
+      if (packed != null) {
+        int attacker = head == 0 ? PackedGameGrid.pack(card) : packed.getPackedCell(cellY, cellX);
+        // Battle the east, west, north and south card
+        battleNeighbour(packed, attacker, cellX, cellY + 1, DirectionType.EAST, trace);
+        battleNeighbour(packed, attacker, cellX, cellY - 1, DirectionType.WEST, trace);
+        battleNeighbour(packed, attacker, cellX - 1, cellY, DirectionType.NORTH, trace);
+        battleNeighbour(packed, attacker, cellX + 1, cellY, DirectionType.SOUTH, trace);
+        continue;
       }
+      Card attacker = head == 0 ? card : this.gameGrid.getCard(cellY, cellX);
+      // Battle the east, west, north and south card
+      battleNeighbour(attacker, cellX, cellY + 1, DirectionType.EAST, trace);
+      battleNeighbour(attacker, cellX, cellY - 1, DirectionType.WEST, trace);
+      battleNeighbour(attacker, cellX - 1, cellY, DirectionType.NORTH, trace);
+      battleNeighbour(attacker, cellX + 1, cellY, DirectionType.SOUTH, trace);
     }
-
-    // Battle the north card
-    if (this.gameGrid.hasCard(y, x - 1)) {
-      Card cardAtNorth = this.gameGrid.getGrid()[x - 1][y];
-      if (card.compare(cardAtNorth, "north")) {
-        cardAtNorth.reverseColor();
-        this.numOfFlips += 1;
-        this.gameGrid.getGrid()[x - 1][y] = cardAtNorth;
-        // Recursively battle the next card in the north direction
-        battle(cardAtNorth, x - 1, y, cardColor);
-      }
+    // only the cells in the worklist were marked, so clearing them is enough
+    for (int i = 0; i < this.cascadeTail; i += 1) {
+      this.cascadeVisited[this.cascadeQueue[i]] = false;
     }
-
-    // Battle the south card
-    if (this.gameGrid.hasCard(y, x + 1)) {
-      Card cardAtSouth = this.gameGrid.getGrid()[x + 1][y];
-      if (card.compare(cardAtSouth, "south")) {
-        cardAtSouth.reverseColor();
-        this.numOfFlips += 1;
-        this.gameGrid.getGrid()[x + 1][y] = cardAtSouth;
-        // Recursively battle the next card in the south direction
-        battle(cardAtSouth, x + 1, y, cardColor);
-      }
+    this.numOfFlips += trace.size();
+    this.lastFlipTrace = trace;
+    if (this.board != null) {
+      this.board = this.board.flip(trace);
     }
 
     // Reset player action based on the card color
-    if (cardColor.equals("BLUE")) {
+    if (cardColor == ColorType.BLUE) {
       playerAMoveInThisRound = false;
     } else {
       playerBMoveInThisRound = false;
     }
   }
 
+  /**
+   * Battle the card at the given position with the attacking card next to it. If the attacking
+   * card wins, flip the card, record the flip and put the cell into the worklist so that
+   * the flipped card battles its own neighbours later.
+   *
+   * @param attacker  The attacking card.
+   * @param x         The row of the card being attacked.
+   * @param y         The col of the card being attacked.
+   * @param direction The direction of the card being attacked from the attacking card.
+   * @param trace     The cells flipped in this battle so far.
+   */
+  private void battleNeighbour(Card attacker, int x, int y, DirectionType direction,
+                               List<Point> trace) {
+    if (!this.gameGrid.hasCard(y, x)) {
+      return;
+    }
+    int cell = x * this.gameGrid.getCol() + y;
+    Card defender = this.gameGrid.getCard(y, x);
+    if (!this.cascadeVisited[cell] && attacker.compare(defender, direction)) {
+      flipNeighbour(defender.getColorType(), x, y, cell, trace);
+    }
+  }
+
+  /**
+   * Battle the card at the given position of a packed grid with the attacking card next to it,
+   * the same as the other battleNeighbour but comparing the packed cells.
+   *
+   * @param grid      The packed game grid of this game.
+   * @param attacker  The packed cell of the attacking card.
+   * @param x         The row of the card being attacked.
+   * @param y         The col of the card being attacked.
+   * @param direction The direction of the card being attacked from the attacking card.
+   * @param trace     The cells flipped in this battle so far.
+   */
+  private void battleNeighbour(PackedGameGrid grid, int attacker, int x, int y,
+                               DirectionType direction, List<Point> trace) {
+    if (!grid.hasCard(y, x)) {
+      return;
+    }
+    int cell = x * grid.getCol() + y;
+    int defender = grid.getPackedCell(y, x);
+    if (!this.cascadeVisited[cell] && PackedGameGrid.beats(attacker, defender, direction)) {
+      flipNeighbour(PackedGameGrid.owner(defender), x, y, cell, trace);
+    }
+  }
+
+  /**
+   * Flip the card at the given position that lost a battle, record the flip and put the cell
+   * into the worklist.
+   *
+   * @param before The color of the card before the flip.
+   * @param x      The row of the card.
+   * @param y      The col of the card.
+   * @param cell   The cell of the card, row * col number + col.
+   * @param trace  The cells flipped in this battle so far.
+   */
+  private void flipNeighbour(ColorType before, int x, int y, int cell, List<Point> trace) {
+    this.gameGrid.flipCard(y, x);
+    addToCount(before, -1);
+    addToCount(before.reverse(), 1);
+    // the key of the card does not depend on its color, so it is the same after the flip
+    hashFlip(this.gameGrid.getCard(y, x), cell);
+    trace.add(new Point(x, y));
+    this.cascadeVisited[cell] = true;
+    this.cascadeQueue[this.cascadeTail] = cell;
+    this.cascadeTail += 1;
+  }
+
+  @Override
+  public void playAndBattle(int cardIdx, int x, int y, IPlayer player) {
+    hasGameStartedOrOver(true);
+    Card card = player.getCardFromHand(cardIdx);
+    playToGrid(cardIdx, x, y, player);
+    battle(card, x, y, player.getColorType());
+  }
+
+  @Override
+  public MoveRecord applyMove(int cardIdx, int x, int y, IPlayer player) {
+    hasGameStartedOrOver(true);
+    IPlayer mover = findPlayer(player.getColorType());
+    Card card = mover.getCardFromHand(cardIdx);
+    BoardSnapshot boardBefore = this.board;
+    // nothing is changed if the card could not be played to this position
+    this.gameGrid.playToGrid(card, y, x);
+    addToCount(card.getColorType(), 1);
+    hashPlay(card, x * this.gameGrid.getCol() + y, mover.getColorType());
+    mover.getHand().remove(cardIdx);
+    if (this.board != null) {
+      this.board = this.board.play(mover.getColorType(), cardIdx, x, y);
+    }
+    ColorType previousTurn = this.currentTurn;
+    boolean previousPlayerAMoved = this.playerAMoveInThisRound;
+    boolean previousPlayerBMoved = this.playerBMoveInThisRound;
+    battle(card, x, y, mover.getColorType());
+    MoveRecord record = new MoveRecord(card, cardIdx, x, y, mover.getColorType(), previousTurn,
+            previousPlayerAMoved, previousPlayerBMoved, this.lastFlipTrace, boardBefore);
+    // pass the turn to the other player
+    setTurn(mover.getColorType().reverse());
+    this.playerAMoveInThisRound = false;
+    this.playerBMoveInThisRound = false;
+    this.appliedMoves.push(record);
+    return record;
+  }
+
+  @Override
+  public void undoMove() {
+    if (this.appliedMoves.isEmpty()) {
+      throw new IllegalStateException("There is no move to undo.");
+    }
+    MoveRecord record = this.appliedMoves.pop();
+    // flip the cards back in the reverse order, every flipped card has the color of the played card
+    ColorType cardColor = record.getCard().getColorType();
+    List<Point> flips = record.getFlips();
+    int cols = this.gameGrid.getCol();
+    for (int i = flips.size() - 1; i >= 0; i -= 1) {
+      Point flip = flips.get(i);
+      this.gameGrid.flipCard(flip.y, flip.x);
+      hashFlip(this.gameGrid.getCard(flip.y, flip.x), flip.x * cols + flip.y);
+    }
+    addToCount(cardColor, -flips.size());
+    addToCount(cardColor.reverse(), flips.size());
+    this.numOfFlips -= flips.size();
+    this.gameGrid.removeFromGrid(record.getY(), record.getX());
+    addToCount(cardColor, -1);
+    findPlayer(record.getPlayerColor()).getHand().add(record.getCardIdx(), record.getCard());
+    hashPlay(record.getCard(), record.getX() * cols + record.getY(), record.getPlayerColor());
+    setTurn(record.getPreviousTurn());
+    this.playerAMoveInThisRound = record.getPreviousPlayerAMoved();
+    this.playerBMoveInThisRound = record.getPreviousPlayerBMoved();
+    // the version before the move is still whole, or null if it was not kept then
+    this.board = record.getBoardBefore();
+  }
+
+  /**
+   * Pass the turn to the given player, keeping the position hash up to date.
+   *
+   * @param turn The color of the player to move.
+   */
+  private void setTurn(ColorType turn) {
+    long key = ZobristKeys.turnKey(this.currentTurn) ^ ZobristKeys.turnKey(turn);
+    if (this.positionHashes != null) {
+      for (int i = 0; i < this.positionHashes.length; i += 1) {
+        this.positionHashes[i] ^= key;
+      }
+    }
+    this.currentTurn = turn;
+    if (this.board != null) {
+      this.board = this.board.withTurn(turn);
+    }
+  }
+
+  /**
+   * Update the position hashes for a card moving between a hand and a cell of the grid,
+   * in either direction.
+   *
+   * @param card      The card.
+   * @param cell      The cell, row * col number + col.
+   * @param handOwner The color of the player whose hand the card is in.
+   */
+  private void hashPlay(Card card, int cell, ColorType handOwner) {
+    for (int i = 0; i < this.positionHashes.length; i += 1) {
+      long cardKey = this.symmetry.cardKey(i, card);
+      this.positionHashes[i] ^= ZobristKeys.handKey(cardKey, handOwner)
+              ^ ZobristKeys.cellKey(cardKey, this.symmetry.mapCell(i, cell), card.getColorType());
+    }
+  }
+
+  /**
+   * Update the position hashes for the card on a cell being flipped, in either direction.
+   *
+   * @param card The card.
+   * @param cell The cell, row * col number + col.
+   */
+  private void hashFlip(Card card, int cell) {
+    for (int i = 0; i < this.positionHashes.length; i += 1) {
+      this.positionHashes[i] ^= ZobristKeys.flipKey(this.symmetry.cardKey(i, card),
+              this.symmetry.mapCell(i, cell));
+    }
+  }
+
+  /**
+   * Work out the position hashes from scratch by going through the grid, the hands
+   * and the player to move, once for every symmetry of the grid.
+   *
+   * @return The Zobrist hash of the current position turned by every symmetry.
+   */
+  private long[] computePositionHashes() {
+    long[] hashes = new long[this.symmetry.size()];
+    int cols = this.gameGrid.getCol();
+    for (int s = 0; s < hashes.length; s += 1) {
+      long hash = ZobristKeys.turnKey(this.currentTurn);
+      for (int i = 0; i < this.gameGrid.getRow(); i += 1) {
+        for (int j = 0; j < cols; j += 1) {
+          if (this.gameGrid.hasCard(j, i)) {
+            Card card = this.gameGrid.getCard(j, i);
+            hash ^= ZobristKeys.cellKey(this.symmetry.cardKey(s, card),
+                    this.symmetry.mapCell(s, i * cols + j), card.getColorType());
+          }
+        }
+      }
+      for (Card card : this.playerA.getHand()) {
+        hash ^= ZobristKeys.handKey(this.symmetry.cardKey(s, card),
+                this.playerA.getColorType());
+      }
+      for (Card card : this.playerB.getHand()) {
+        hash ^= ZobristKeys.handKey(this.symmetry.cardKey(s, card),
+                this.playerB.getColorType());
+      }
+      hashes[s] = hash;
+    }
+    return hashes;
+  }
+
+  /**
+   * Update the number of cards of the given color on the grid.
+   *
+   * @param color The color of the cards.
+   * @param delta The change of the number of cards.
+   */
+  private void addToCount(ColorType color, int delta) {
+    if (color == ColorType.RED) {
+      this.redOnGrid += delta;
+    } else if (color == ColorType.BLUE) {
+      this.blueOnGrid += delta;
+    }
+  }
+
+  /**
+   * Find the player of this model with the given color.
+   *
+   * @param color The color of the player.
+   * @return Player A if the color is red, player B if the color is blue.
+   */
+  private IPlayer findPlayer(ColorType color) {
+    if (color == this.playerA.getColorType()) {
+      return this.playerA;
+    } else if (color == this.playerB.getColorType()) {
+      return this.playerB;
+    }
+    throw new IllegalArgumentException("Unknown player color: " + color);
+  }
+
   @Override
   public boolean isOver() {
     if (!isGameStart) {
@@ -210,21 +527,9 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
   @Override
   public IPlayer getWinner() {
     hasGameStartedOrOver(false);
-    int red = 0;
-    int blue = 0;
-    for (int i = 0; i < gameGrid.getGrid().length; i += 1) {
-      for (int j = 0; j < gameGrid.getGrid()[i].length; j += 1) {
-        String cardColor = gameGrid.getGrid()[i][j].getColor();
-        if (cardColor.equals("RED")) {
-          red += 1;
-        } else if (cardColor.equals("BLUE")) {
-          blue += 1;
-        }
-      }
-    }
-    if (red > blue) {
+    if (this.redOnGrid > this.blueOnGrid) {
       return playerA;
-    } else if (red == blue) {
+    } else if (this.redOnGrid == this.blueOnGrid) {
       return null;
     } else {
       return playerB;
@@ -251,28 +556,30 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
 
   @Override
   public String getCurrentPlayer() {
+    hasGameStartedOrOver(false);
+    if (this.currentTurn == null) {
+      return "";
+    }
+    return this.currentTurn.name();
+  }
+
+  @Override
+  public ColorType getCurrentPlayerColor() {
     hasGameStartedOrOver(false);
     return this.currentTurn;
   }
 
   @Override
   public int countCardOnGrid(String color) {
-    int red = 0;
-    int blue = 0;
-    for (int i = 0; i < gameGrid.getGrid().length; i += 1) {
-      for (int j = 0; j < gameGrid.getGrid()[i].length; j += 1) {
-        String cardColor = gameGrid.getGrid()[i][j].getColor();
-        if (cardColor.equals("RED")) {
-          red += 1;
-        } else if (cardColor.equals("BLUE")) {
-          blue += 1;
-        }
-      }
-    }
-    if (color.equals("RED")) {
-      return red;
+    return countCardOnGrid(ColorType.fromString(color));
+  }
+
+  @Override
+  public int countCardOnGrid(ColorType color) {
+    if (color == ColorType.RED) {
+      return this.redOnGrid;
     } else {
-      return blue;
+      return this.blueOnGrid;
     }
   }
 
@@ -282,10 +589,16 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
     copy.isGameStart = true;
     copy.playerAMoveInThisRound = false;
     copy.playerBMoveInThisRound = false;
+    copy.currentTurn = this.currentTurn;
+    copy.originalCards = this.originalCards;
+    copy.catalog = this.catalog;
+    copy.usePackedGrid = this.usePackedGrid;
 
     if (this.gameGrid != null) {
       copy.gameGrid = this.gameGrid.copy();
     }
+    copy.redOnGrid = this.redOnGrid;
+    copy.blueOnGrid = this.blueOnGrid;
 
     if (this.playerA != null) {
       copy.playerA = this.playerA.copy();
@@ -293,10 +606,102 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
     if (this.playerB != null) {
       copy.playerB = this.playerB.copy();
     }
+    if (copy.gameGrid != null && copy.playerA != null && copy.playerB != null) {
+      copy.symmetry = this.symmetry;
+      copy.positionHashes = copy.computePositionHashes();
+    }
 
     return copy;
   }
 
+  @Override
+  public BoardSnapshot getBoardSnapshot() {
+    hasGameStartedOrOver(false);
+    if (this.board == null) {
+      this.board = BoardSnapshot.of(this.catalog, this.gameGrid, this.playerA, this.playerB,
+              this.currentTurn);
+    }
+    return this.board;
+  }
+
+  /**
+   * Drop the board snapshot after the hands or their cards were changed through the players,
+   * which this model does not see, so that the next one is made again from the game.
+   */
+  void discardBoardSnapshot() {
+    this.board = null;
+  }
+
+  /**
+   * Create a model of this game at a version of its board, that shares nothing with this model.
+   * Only reads what is set when the game starts, the grid layout, the symmetries and the cards
+   * of the game, so it could be called from any thread once the game has started.
+   * Used by ConcurrentThreeTriosModel to read a published version.
+   *
+   * @param version   The version of the board.
+   * @param moved     Whether the player to move has moved in this round.
+   * @param flipTrace The cells flipped in the latest battle.
+   * @return The model at the version.
+   */
+  ThreeTriosGameModel restore(BoardSnapshot version, boolean moved, List<Point> flipTrace) {
+    int rows = version.getRow();
+    int cols = version.getCol();
+    boolean[][] isHole = new boolean[rows][cols];
+    for (int i = 0; i < rows; i += 1) {
+      for (int j = 0; j < cols; j += 1) {
+        isHole[i][j] = version.isHole(i, j);
+      }
+    }
+    ThreeTriosGameModel copy = new ThreeTriosGameModel(this.seed, this.usePackedGrid);
+    // the grid starts empty, with the odd number of card cells it was made with
+    if (this.usePackedGrid) {
+      copy.gameGrid = new PackedGameGrid(rows, cols, isHole);
+    } else {
+      Card[][] layout = new Card[rows][cols];
+      int cardCells = 0;
+      for (int i = 0; i < rows; i += 1) {
+        for (int j = 0; j < cols; j += 1) {
+          if (isHole[i][j]) {
+            layout[i][j] = new GameCard("X", "GRAY", 0, 0, 0, 0);
+          } else {
+            layout[i][j] = new GameCard("C", "YELLOW", 0, 0, 0, 0);
+            cardCells += 1;
+          }
+        }
+      }
+      copy.gameGrid = new GameGrid(rows, cols, layout, cardCells);
+    }
+    for (int i = 0; i < rows; i += 1) {
+      for (int j = 0; j < cols; j += 1) {
+        Card card = version.getCard(i, j);
+        if (card != null) {
+          copy.gameGrid.playToGrid(card, j, i);
+        }
+      }
+    }
+    copy.playerA = new Player("RED");
+    copy.playerB = new Player("BLUE");
+    for (Card card : version.getHand(ColorType.RED)) {
+      copy.playerA.addCardsToHand(card);
+    }
+    for (Card card : version.getHand(ColorType.BLUE)) {
+      copy.playerB.addCardsToHand(card);
+    }
+    copy.isGameStart = true;
+    copy.currentTurn = version.getCurrentTurn();
+    copy.playerAMoveInThisRound = moved && copy.currentTurn == ColorType.RED;
+    copy.playerBMoveInThisRound = moved && copy.currentTurn == ColorType.BLUE;
+    copy.redOnGrid = version.countCardOnGrid(ColorType.RED);
+    copy.blueOnGrid = version.countCardOnGrid(ColorType.BLUE);
+    copy.originalCards = this.originalCards;
+    copy.catalog = this.catalog;
+    copy.symmetry = this.symmetry;
+    copy.positionHashes = copy.computePositionHashes();
+    copy.lastFlipTrace = new ArrayList<>(flipTrace);
+    copy.board = version;
+    return copy;
+  }
+
   private void hasGameStartedOrOver(boolean includeOver) {
     if (includeOver) {
       if (!isGameStart || isOver()) {
@@ -313,8 +718,8 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
   @Override
   public Card[][] getCopyOfGameGrid() {
     hasGameStartedOrOver(false);
-    ThreeTriosGameModel copy = new ThreeTriosGameModel(this);
-    return copy.gameGrid.getGrid();
+    // the board snapshot already holds copies of the cards, so only the grid is made
+    return getBoardSnapshot().toGrid();
   }
 
   @Override
@@ -324,44 +729,72 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
     aCopy.numOfFlips = 0;
     Player pCopy = new Player((Player) player);
     aCopy.playToGrid(cardIdx, x, y, player);
-    Card card = aCopy.gameGrid.getGrid()[x][y];
-    aCopy.battle(card, x, y, pCopy.getColor());
+    Card card = aCopy.gameGrid.getCard(y, x);
+    aCopy.battle(card, x, y, pCopy.getColorType());
     return aCopy.numOfFlips;
   }
 
+  @Override
+  public int[][] getFlipCounts(int cardIdx, IPlayer player) {
+    hasGameStartedOrOver(false);
+    int rows = this.gameGrid.getRow();
+    int cols = this.gameGrid.getCol();
+    int[][] counts = new int[rows][cols];
+    for (int[] row : counts) {
+      Arrays.fill(row, -1);
+    }
+    // every cell is tried on the same copy, taking each move back before the next one
+    ThreeTriosGameModel scratch = new ThreeTriosGameModel(this);
+    IPlayer mover = scratch.findPlayer(player.getColorType());
+    for (int cell = scratch.gameGrid.nextOpenCell(0); cell >= 0;
+         cell = scratch.gameGrid.nextOpenCell(cell + 1)) {
+      MoveRecord record = scratch.applyMove(cardIdx, cell / cols, cell % cols, mover);
+      counts[cell / cols][cell % cols] = record.getFlips().size();
+      scratch.undoMove();
+    }
+    return counts;
+  }
+
   @Override
   public int getAPlayerScore(IPlayer player) {
     hasGameStartedOrOver(false);
-    int playerScore = 0;
-    for (int i = 0; i < gameGrid.getGrid().length; i += 1) {
-      for (int j = 0; j < gameGrid.getGrid()[i].length; j += 1) {
-        String cardColor = gameGrid.getGrid()[i][j].getColor();
-        if (cardColor.equals(player.getColor())) {
-          playerScore++;
-        }
-      }
+    if (player.getColorType() == ColorType.RED) {
+      return this.redOnGrid;
+    } else if (player.getColorType() == ColorType.BLUE) {
+      return this.blueOnGrid;
     }
-    return playerScore;
+    return 0;
   }
 
   @Override
   public void setCurrentPlayerMoved(boolean moved) {
     hasGameStartedOrOver(false);
-    if (currentTurn.equals("RED")) {
+    if (currentTurn == ColorType.RED) {
       playerAMoveInThisRound = moved;
-    } else if (currentTurn.equals("BLUE")) {
+    } else if (currentTurn == ColorType.BLUE) {
       playerBMoveInThisRound = moved;
     } else {
       throw new IllegalStateException("Invalid player turn.");
     }
+    if (moved) {
+      this.turnCompletion.complete(currentTurn);
+    } else if (this.turnCompletion.isDone()) {
+      this.turnCompletion = new CompletableFuture<>();
+    }
+  }
+
+  @Override
+  public CompletableFuture<ColorType> getTurnCompletion() {
+    hasGameStartedOrOver(false);
+    return this.turnCompletion;
   }
 
   @Override
   public boolean hasCurrentPlayerMoved() {
     hasGameStartedOrOver(false);
-    if (currentTurn.equals("RED")) {
+    if (currentTurn == ColorType.RED) {
       return playerAMoveInThisRound;
-    } else if (currentTurn.equals("BLUE")) {
+    } else if (currentTurn == ColorType.BLUE) {
       return playerBMoveInThisRound;
     } else {
       throw new IllegalStateException("Invalid player turn.");
@@ -372,13 +805,50 @@ public class ThreeTriosGameModel implements ThreeTriosModel {
   @Override
   public void switchToNextPlayer() {
     hasGameStartedOrOver(false);
-    if (currentTurn.equals("RED")) {
-      currentTurn = "BLUE";
+    if (currentTurn == ColorType.RED) {
+      setTurn(ColorType.BLUE);
       playerAMoveInThisRound = false;
-    } else if (currentTurn.equals("BLUE")) {
-      currentTurn = "RED";
+    } else if (currentTurn == ColorType.BLUE) {
+      setTurn(ColorType.RED);
       playerBMoveInThisRound = false;
     }
+    this.turnCompletion = new CompletableFuture<>();
+  }
+
+  @Override
+  public List<Point> getLastFlipTrace() {
+    hasGameStartedOrOver(false);
+    return Collections.unmodifiableList(this.lastFlipTrace);
+  }
+
+  @Override
+  public long getPositionHash() {
+    hasGameStartedOrOver(false);
+    return this.positionHashes[0];
+  }
+
+  @Override
+  public long getCanonicalHash() {
+    hasGameStartedOrOver(false);
+    return this.positionHashes[getCanonicalSymmetry()];
+  }
+
+  @Override
+  public int getCanonicalSymmetry() {
+    hasGameStartedOrOver(false);
+    int best = 0;
+    for (int i = 1; i < this.positionHashes.length; i += 1) {
+      if (this.positionHashes[i] < this.positionHashes[best]) {
+        best = i;
+      }
+    }
+    return best;
+  }
+
+  @Override
+  public GridSymmetry getSymmetry() {
+    hasGameStartedOrOver(false);
+    return this.symmetry;
   }
 
   //had to add this to implement the other person's view
@@ -1,6 +1,9 @@
 package customer.model;
 
+import java.util.concurrent.CompletableFuture;
+
 import customer.gamefeatures.Card;
+import customer.gamefeatures.ColorType;
 import customer.gamefeatures.IPlayer;
 
 /**
@@ -45,6 +48,51 @@ public interface ThreeTriosModel extends ReadonlyThreeTriosModel {
    */
   void battle(Card card, int x, int y, String cardColor);
 
+  /**
+   * After playing a card to game grid, start the battle of this round, the same as the battle
+   * taking the color in String.
+   *
+   * @param card      The card be played to grid in this round.
+   * @param x         The col coordinate of the card be played in this round.
+   * @param y         The row coordinate of the card be played in this round.
+   * @param cardColor The color of the card be played in this round.
+   */
+  void battle(Card card, int x, int y, ColorType cardColor);
+
+  /**
+   * Play the card to grid and battle with the cards around it as one change, the same as
+   * playToGrid followed by battle, without passing the turn to the other player.
+   * A model shared between threads makes both at once, so no one sees the card played
+   * but not battled yet.
+   *
+   * @param cardIdx The index of the card in the player's hand.
+   * @param x       The row posn of the card is going to be played to grid.
+   * @param y       The col posn of the card is going to be played to grid.
+   * @param player  The player wants to play card.
+   */
+  void playAndBattle(int cardIdx, int x, int y, IPlayer player);
+
+  /**
+   * Play the card to grid, battle with the cards around it and pass the turn to the other
+   * player, all in place. The move is recorded so that it could be reverted exactly by undoMove,
+   * which makes simulating a move much cheaper than copying the whole model.
+   *
+   * @param cardIdx The index of the card in the player's hand.
+   * @param x       The row posn of the card is going to be played to grid.
+   * @param y       The col posn of the card is going to be played to grid.
+   * @param player  The player wants to play card.
+   * @return The record of the move, including the cells flipped in the battle.
+   */
+  MoveRecord applyMove(int cardIdx, int x, int y, IPlayer player);
+
+  /**
+   * Revert the latest move applied by applyMove that has not been undone yet, putting the card
+   * back to the player's hand, flipping the flipped cards back and restoring whose turn it is.
+   *
+   * @throws IllegalStateException if there is no move to undo.
+   */
+  void undoMove();
+
   /**
    * Get the number of certain color of cards on game board.
    *
@@ -53,6 +101,14 @@ public interface ThreeTriosModel extends ReadonlyThreeTriosModel {
    */
   int countCardOnGrid(String color);
 
+  /**
+   * Get the number of certain color of cards on game board.
+   *
+   * @param color The color of cards that need to be calculated.
+   * @return The number of card on board.
+   */
+  int countCardOnGrid(ColorType color);
+
   /**
    * Create a copy of the current game mode.
    *
@@ -65,4 +121,14 @@ public interface ThreeTriosModel extends ReadonlyThreeTriosModel {
   boolean hasCurrentPlayerMoved();
 
   void switchToNextPlayer();
+
+  /**
+   * Get the event of the current turn ending, which is completed with the color of the player
+   * to move as soon as setCurrentPlayerMoved(true) is called, on the thread calling it.
+   * Every call to switchToNextPlayer starts a new turn with a new event, so the game loop
+   * should chain the next turn onto it instead of waiting for the moved flag.
+   *
+   * @return The event of the current turn ending.
+   */
+  CompletableFuture<ColorType> getTurnCompletion();
 }
@@ -0,0 +1,118 @@
+package customer.model;
+
+import customer.gamefeatures.Card;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.DirectionType;
+
+/**
+ * The keys of the Zobrist hash of a game position. The hash of a position is the XOR of
+ * one key for every card on the grid (depending on the card, its cell and its owner),
+ * one key for every card in the hands, and one key for the player to move.
+ * Cards are not known before a game starts, so instead of random tables the keys are
+ * worked out by mixing the card name and attack values, which gives every run and every
+ * copy of the model the same keys.
+ */
+public final class ZobristKeys {
+  private static final long RED_HAND = 0x6A09E667F3BCC908L;
+  private static final long BLUE_HAND = 0xBB67AE8584CAA73BL;
+  private static final long RED_TURN = 0x3C6EF372FE94F82BL;
+  private static final long BLUE_TURN = 0xA54FF53A5F1D36F1L;
+  private static final long CELL_STEP = 0x9E3779B97F4A7C15L;
+
+  private ZobristKeys() {
+  }
+
+  /**
+   * Get the key of a card definition, which depends on the name and the attack values
+   * of the card but not on its color.
+   *
+   * @param card The card.
+   * @return The key of the card.
+   */
+  public static long cardKey(Card card) {
+    return cardKey(card.getName(), card.getNum(DirectionType.NORTH),
+            card.getNum(DirectionType.SOUTH), card.getNum(DirectionType.EAST),
+            card.getNum(DirectionType.WEST));
+  }
+
+  /**
+   * Get the key of a card definition from its name and attack values.
+   *
+   * @param name  The name of the card.
+   * @param north The attack value at north.
+   * @param south The attack value at south.
+   * @param east  The attack value at east.
+   * @param west  The attack value at west.
+   * @return The key of the card.
+   */
+  public static long cardKey(String name, int north, int south, int east, int west) {
+    long key = name.hashCode();
+    key = key * 31 + north;
+    key = key * 31 + south;
+    key = key * 31 + east;
+    key = key * 31 + west;
+    return mix(key);
+  }
+
+  /**
+   * Get the key of a card sitting on a cell of the grid.
+   *
+   * @param cardKey The key of the card.
+   * @param cell    The cell of the card, row * col number + col.
+   * @param owner   The color of the card.
+   * @return The key of the card on this cell.
+   */
+  public static long cellKey(long cardKey, int cell, ColorType owner) {
+    long ownerBit = owner == ColorType.BLUE ? 1 : 0;
+    return mix(cardKey ^ mix((cell * 2L + ownerBit + 1) * CELL_STEP));
+  }
+
+  /**
+   * Get the change of the hash when the card on a cell is flipped, in either direction.
+   *
+   * @param cardKey The key of the card.
+   * @param cell    The cell of the card, row * col number + col.
+   * @return The key to XOR into the hash.
+   */
+  public static long flipKey(long cardKey, int cell) {
+    return cellKey(cardKey, cell, ColorType.RED) ^ cellKey(cardKey, cell, ColorType.BLUE);
+  }
+
+  /**
+   * Get the key of a card in the hand of a player.
+   *
+   * @param cardKey The key of the card.
+   * @param owner   The color of the player holding the card.
+   * @return The key of the card in this hand.
+   */
+  public static long handKey(long cardKey, ColorType owner) {
+    return mix(cardKey ^ (owner == ColorType.BLUE ? BLUE_HAND : RED_HAND));
+  }
+
+  /**
+   * Get the key of the player to move.
+   *
+   * @param turn The color of the player to move, could be null before the game starts.
+   * @return The key of the player to move, 0 if there is none.
+   */
+  public static long turnKey(ColorType turn) {
+    if (turn == ColorType.RED) {
+      return RED_TURN;
+    } else if (turn == ColorType.BLUE) {
+      return BLUE_TURN;
+    }
+    return 0;
+  }
+
+  /**
+   * The finalizer of SplitMix64, spreads every bit of the input over the whole output.
+   *
+   * @param z The value to mix.
+   * @return The mixed value.
+   */
+  static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,235 @@
+package customer.server;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.IPlayer;
+import customer.model.ThreeTriosGameModel;
+import customer.model.ThreeTriosModel;
+
+/**
+ * Hosts many independent games without the GUI on a small shared pool of threads.
+ * Every game is a session in a registry, and the commands of a session are run one at a time
+ * in the order they were submitted, so a model is never used by two threads at once and
+ * needs no locking, while the commands of different games run in parallel. A session holds
+ * no thread while it has no commands, so the number of games is not bound by the threads.
+ * Every command returns a CompletableFuture, completed with the state of the game after it,
+ * or exceptionally with the IllegalArgumentException or IllegalStateException of a bad one.
+ * Once the server is shut down, every command that has not finished fails with
+ * an IllegalStateException, so no caller waits on a command that will never run.
+ */
+public class GameServer {
+  private final ExecutorService pool;
+  private final Map<String, Session> sessions;
+  private final AtomicLong nextId;
+  // the futures of the commands submitted and not completed yet, of every game
+  private final Set<CompletableFuture<?>> pending;
+  private volatile boolean shutDown;
+
+  /**
+   * Constructor for GameServer with one thread for every processor.
+   */
+  public GameServer() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor for GameServer.
+   *
+   * @param threads The number of threads running the commands of every game.
+   */
+  public GameServer(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("At least one thread is needed.");
+    }
+    this.pool = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "game-server");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.sessions = new ConcurrentHashMap<>();
+    this.nextId = new AtomicLong();
+    this.pending = ConcurrentHashMap.newKeySet();
+  }
+
+  /**
+   * Create and start a new game.
+   *
+   * @param gridFile File path of the grid configuration.
+   * @param cardFile File path of the card configuration.
+   * @param shuffle  Whether to shuffle the cards.
+   * @return The state of the new game, with its id.
+   */
+  public CompletableFuture<GameState> createGame(String gridFile, String cardFile,
+                                                 boolean shuffle) {
+    String gameId = "game-" + this.nextId.incrementAndGet();
+    Session session = new Session(gameId, new SerialExecutor(this.pool));
+    this.sessions.put(gameId, session);
+    CompletableFuture<GameState> started = session.submit(model -> {
+      model.startGame(gridFile, cardFile, shuffle);
+      return session.state();
+    });
+    // a game that could not start is not kept
+    started.whenComplete((state, error) -> {
+      if (error != null) {
+        this.sessions.remove(gameId);
+      }
+    });
+    return started;
+  }
+
+  /**
+   * Play a card of a player to the grid, battle with it, and pass the turn to the other player.
+   *
+   * @param gameId  The id of the game.
+   * @param cardIdx The index of the card in the hand of the player.
+   * @param row     The row of the cell.
+   * @param col     The col of the cell.
+   * @param color   The color of the player, which must be the player to move.
+   * @return The state of the game after the move.
+   */
+  public CompletableFuture<GameState> playToGrid(String gameId, int cardIdx, int row, int col,
+                                                 String color) {
+    return findSession(gameId).thenCompose(session -> session.submit(model -> {
+      if (model.isOver()) {
+        throw new IllegalStateException("The game is over.");
+      }
+      if (!model.getCurrentPlayer().equals(color)) {
+        throw new IllegalStateException("It is not the turn of " + color);
+      }
+      IPlayer player = ColorType.fromString(color) == ColorType.RED
+              ? model.getPlayerA() : model.getPlayerB();
+      model.applyMove(cardIdx, row, col, player);
+      return session.state();
+    }));
+  }
+
+  /**
+   * Get the state of a game once every command submitted before has been run.
+   *
+   * @param gameId The id of the game.
+   * @return The state of the game.
+   */
+  public CompletableFuture<GameState> getState(String gameId) {
+    return findSession(gameId).thenCompose(session -> session.submit(model -> session.state()));
+  }
+
+  /**
+   * Remove a game from the server. Commands already submitted to it are still run.
+   *
+   * @param gameId The id of the game.
+   */
+  public void closeGame(String gameId) {
+    this.sessions.remove(gameId);
+  }
+
+  /**
+   * Get the number of games hosted.
+   *
+   * @return The number of games.
+   */
+  public int getGameCount() {
+    return this.sessions.size();
+  }
+
+  /**
+   * Stop the threads of the server. Commands not run yet are dropped and their futures fail
+   * with an IllegalStateException, as do the commands submitted afterwards.
+   */
+  public void shutdown() {
+    this.shutDown = true;
+    this.pool.shutdownNow();
+    for (CompletableFuture<?> future : this.pending) {
+      future.completeExceptionally(shutDownError());
+    }
+    this.sessions.clear();
+  }
+
+  /**
+   * The error of a command that could not run because the server was shut down.
+   */
+  private static IllegalStateException shutDownError() {
+    return new IllegalStateException("The server has been shut down.");
+  }
+
+  /**
+   * Find a game by its id.
+   *
+   * @param gameId The id of the game.
+   * @return The session of the game, or a failed future if there is no such game.
+   */
+  private CompletableFuture<Session> findSession(String gameId) {
+    Session session = this.sessions.get(gameId);
+    if (session == null) {
+      return CompletableFuture.failedFuture(
+              new IllegalArgumentException("No game with the id " + gameId));
+    }
+    return CompletableFuture.completedFuture(session);
+  }
+
+  /**
+   * A hosted game, its model and the executor running its commands one at a time.
+   * The model is only ever used by the commands.
+   */
+  private final class Session {
+    private final String gameId;
+    private final SerialExecutor executor;
+    private final ThreeTriosModel model;
+
+    Session(String gameId, SerialExecutor executor) {
+      this.gameId = gameId;
+      this.executor = executor;
+      this.model = new ThreeTriosGameModel();
+    }
+
+    /**
+     * Run a command on the model after every command submitted before it. The future is kept
+     * by the server until it completes, so that shutdown could fail it.
+     */
+    <T> CompletableFuture<T> submit(Function<ThreeTriosModel, T> command) {
+      CompletableFuture<T> result = new CompletableFuture<>();
+      pending.add(result);
+      result.whenComplete((value, error) -> pending.remove(result));
+      // checked after the future is kept, so either this or shutdown fails it
+      if (shutDown) {
+        result.completeExceptionally(shutDownError());
+        return result;
+      }
+      try {
+        this.executor.execute(() -> {
+          if (result.isDone()) {
+            return;
+          }
+          try {
+            result.complete(command.apply(this.model));
+          } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+          }
+        });
+      } catch (RejectedExecutionException e) {
+        result.completeExceptionally(shutDownError());
+      }
+      return result;
+    }
+
+    /**
+     * The state of the game, only called from a command.
+     */
+    GameState state() {
+      IPlayer winner = this.model.isOver() ? this.model.getWinner() : null;
+      return new GameState(this.gameId, this.model.getGameGrid().toString(),
+              this.model.getCurrentPlayer(),
+              this.model.countCardOnGrid(ColorType.RED),
+              this.model.countCardOnGrid(ColorType.BLUE),
+              this.model.isOver(), winner == null ? null : winner.getColor());
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package customer.server;
+
+/**
+ * The state of a hosted game at one point in time, safe to pass to any thread.
+ */
+public class GameState {
+  private final String gameId;
+  private final String grid;
+  private final String currentPlayer;
+  private final int redScore;
+  private final int blueScore;
+  private final boolean over;
+  private final String winner;
+
+  /**
+   * Constructor for GameState.
+   *
+   * @param gameId        The id of the game.
+   * @param grid          The grid in its String format.
+   * @param currentPlayer The color of the player to move.
+   * @param redScore      The number of red cards on the grid.
+   * @param blueScore     The number of blue cards on the grid.
+   * @param over          Whether the game is over.
+   * @param winner        The color of the winner, null while the game is going or for a tie.
+   */
+  public GameState(String gameId, String grid, String currentPlayer, int redScore,
+                   int blueScore, boolean over, String winner) {
+    this.gameId = gameId;
+    this.grid = grid;
+    this.currentPlayer = currentPlayer;
+    this.redScore = redScore;
+    this.blueScore = blueScore;
+    this.over = over;
+    this.winner = winner;
+  }
+
+  /**
+   * Gets the id of the game.
+   *
+   * @return The game id.
+   */
+  public String getGameId() {
+    return this.gameId;
+  }
+
+  /**
+   * Gets the grid in its String format.
+   *
+   * @return The grid.
+   */
+  public String getGrid() {
+    return this.grid;
+  }
+
+  /**
+   * Gets the color of the player to move.
+   *
+   * @return The color in String, such as "RED".
+   */
+  public String getCurrentPlayer() {
+    return this.currentPlayer;
+  }
+
+  /**
+   * Gets the number of red cards on the grid.
+   *
+   * @return The red score.
+   */
+  public int getRedScore() {
+    return this.redScore;
+  }
+
+  /**
+   * Gets the number of blue cards on the grid.
+   *
+   * @return The blue score.
+   */
+  public int getBlueScore() {
+    return this.blueScore;
+  }
+
+  /**
+   * Gets whether the game is over.
+   *
+   * @return True if the game is over.
+   */
+  public boolean isOver() {
+    return this.over;
+  }
+
+  /**
+   * Gets the color of the winner.
+   *
+   * @return The color in String, or null while the game is going or for a tie.
+   */
+  public String getWinner() {
+    return this.winner;
+  }
+}
@@ -0,0 +1,81 @@
+package customer.server;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the tasks given to it one at a time, in the order they were given, on a shared executor.
+ * It holds no thread of its own: while it has tasks it takes one thread of the shared executor,
+ * and gives it back after a few tasks so that one busy game cannot hold a thread for long.
+ */
+class SerialExecutor implements Executor {
+  // the number of tasks run before the thread is given back to the shared executor
+  private static final int BATCH = 16;
+
+  private final Executor shared;
+  private final Queue<Runnable> tasks;
+  private final AtomicBoolean scheduled;
+
+  /**
+   * Constructor for SerialExecutor.
+   *
+   * @param shared The executor to run the tasks on.
+   */
+  SerialExecutor(Executor shared) {
+    this.shared = shared;
+    this.tasks = new ConcurrentLinkedQueue<>();
+    this.scheduled = new AtomicBoolean(false);
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    this.tasks.add(task);
+    schedule();
+  }
+
+  /**
+   * Take a thread of the shared executor to run the tasks, unless one is taken already.
+   *
+   * @throws RejectedExecutionException if the shared executor has been shut down, in which case
+   *                                    the tasks left are dropped.
+   */
+  private void schedule() {
+    if (this.scheduled.compareAndSet(false, true)) {
+      try {
+        this.shared.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        this.tasks.clear();
+        this.scheduled.set(false);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Run a batch of tasks, then give the thread back and take another one if there are more.
+   */
+  private void drain() {
+    try {
+      for (int i = 0; i < BATCH; i += 1) {
+        Runnable task = this.tasks.poll();
+        if (task == null) {
+          break;
+        }
+        task.run();
+      }
+    } finally {
+      this.scheduled.set(false);
+      // a task added after the last poll but before the flag was cleared is not lost
+      if (!this.tasks.isEmpty()) {
+        try {
+          schedule();
+        } catch (RejectedExecutionException e) {
+          // the shared executor has been shut down, and the tasks left are dropped
+        }
+      }
+    }
+  }
+}
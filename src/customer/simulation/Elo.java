@@ -0,0 +1,111 @@
+package customer.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Elo ratings from game results. A player Elo d stronger than another is expected to score
+ * 1 / (1 + 10^(-d / 400)) against it, counting a win as 1 and a tie as a half.
+ */
+public final class Elo {
+  // the z-score of a two-sided 95% confidence interval
+  private static final double Z_95 = 1.959964;
+  // the largest Elo difference reported, for a score of all wins or all losses
+  private static final double MAX_DIFFERENCE = 1000;
+  private static final int FIT_ITERATIONS = 1000;
+  private static final double FIT_TOLERANCE = 1e-9;
+
+  private Elo() {
+  }
+
+  /**
+   * Get the expected score of a player against an opponent it is the given Elo stronger than.
+   *
+   * @param difference The Elo difference.
+   * @return The expected score, between 0 and 1.
+   */
+  public static double expectedScore(double difference) {
+    return 1 / (1 + Math.pow(10, -difference / 400));
+  }
+
+  /**
+   * Get the Elo difference that gives the expected score.
+   *
+   * @param score The score, between 0 and 1.
+   * @return The Elo difference, capped at a thousand either way.
+   */
+  public static double difference(double score) {
+    if (score <= 0) {
+      return -MAX_DIFFERENCE;
+    } else if (score >= 1) {
+      return MAX_DIFFERENCE;
+    }
+    double difference = -400 * Math.log10(1 / score - 1);
+    return Math.max(-MAX_DIFFERENCE, Math.min(MAX_DIFFERENCE, difference));
+  }
+
+  /**
+   * Get the 95% confidence interval of the Elo difference of a player from its results.
+   *
+   * @param wins   The games won by the player.
+   * @param ties   The tie games.
+   * @param losses The games lost by the player.
+   * @return The lower and the upper end of the interval.
+   */
+  public static double[] interval(int wins, int ties, int losses) {
+    int games = wins + ties + losses;
+    if (games == 0) {
+      return new double[]{-MAX_DIFFERENCE, MAX_DIFFERENCE};
+    }
+    double score = (wins + ties / 2.0) / games;
+    double variance = (wins * Math.pow(1 - score, 2) + ties * Math.pow(0.5 - score, 2)
+            + losses * Math.pow(score, 2)) / games;
+    double margin = Z_95 * Math.sqrt(variance / games);
+    return new double[]{difference(score - margin), difference(score + margin)};
+  }
+
+  /**
+   * Fit the ratings of every player to the results of a round robin by maximum likelihood,
+   * with one tie added to every pairing so that a player winning or losing everything
+   * still gets a finite rating. The ratings are shifted to average 0.
+   *
+   * @param points The points of player i against player j, a win counting 1 and a tie a half.
+   * @param games  The number of games between player i and player j.
+   * @return The rating of every player.
+   */
+  public static double[] fit(double[][] points, int[][] games) {
+    int n = points.length;
+    double[] strength = new double[n];
+    Arrays.fill(strength, 1);
+    for (int iteration = 0; iteration < FIT_ITERATIONS; iteration += 1) {
+      double change = 0;
+      for (int i = 0; i < n; i += 1) {
+        double won = 0;
+        double expected = 0;
+        for (int j = 0; j < n; j += 1) {
+          if (i != j && games[i][j] > 0) {
+            won += points[i][j] + 0.5;
+            expected += (games[i][j] + 1) / (strength[i] + strength[j]);
+          }
+        }
+        if (expected > 0) {
+          double updated = won / expected;
+          change = Math.max(change, Math.abs(updated - strength[i]) / strength[i]);
+          strength[i] = updated;
+        }
+      }
+      if (change < FIT_TOLERANCE) {
+        break;
+      }
+    }
+    double[] ratings = new double[n];
+    double mean = 0;
+    for (int i = 0; i < n; i += 1) {
+      ratings[i] = 400 * Math.log10(strength[i]);
+      mean += ratings[i] / n;
+    }
+    for (int i = 0; i < n; i += 1) {
+      ratings[i] -= mean;
+    }
+    return ratings;
+  }
+}
@@ -0,0 +1,124 @@
+package customer.simulation;
+
+/**
+ * The results of the games between two entrants of a tournament, seen from the first one.
+ */
+public class PairingResult {
+  private final String first;
+  private final String second;
+  private final int wins;
+  private final int ties;
+  private final int losses;
+  private final Sprt.Decision decision;
+
+  /**
+   * Constructor for PairingResult.
+   *
+   * @param first    The name of the first entrant.
+   * @param second   The name of the second entrant.
+   * @param wins     The games won by the first entrant.
+   * @param ties     The tie games.
+   * @param losses   The games lost by the first entrant.
+   * @param decision The outcome of the SPRT of the pairing, null if there was none.
+   */
+  public PairingResult(String first, String second, int wins, int ties, int losses,
+                       Sprt.Decision decision) {
+    this.first = first;
+    this.second = second;
+    this.wins = wins;
+    this.ties = ties;
+    this.losses = losses;
+    this.decision = decision;
+  }
+
+  /**
+   * Gets the name of the first entrant.
+   *
+   * @return The name.
+   */
+  public String getFirst() {
+    return this.first;
+  }
+
+  /**
+   * Gets the name of the second entrant.
+   *
+   * @return The name.
+   */
+  public String getSecond() {
+    return this.second;
+  }
+
+  /**
+   * Gets the games won by the first entrant.
+   *
+   * @return The number of wins.
+   */
+  public int getWins() {
+    return this.wins;
+  }
+
+  /**
+   * Gets the tie games.
+   *
+   * @return The number of ties.
+   */
+  public int getTies() {
+    return this.ties;
+  }
+
+  /**
+   * Gets the games lost by the first entrant.
+   *
+   * @return The number of losses.
+   */
+  public int getLosses() {
+    return this.losses;
+  }
+
+  /**
+   * Gets the number of games played.
+   *
+   * @return The number of games.
+   */
+  public int getGames() {
+    return this.wins + this.ties + this.losses;
+  }
+
+  /**
+   * Gets the outcome of the SPRT of the pairing.
+   *
+   * @return The decision, CONTINUE if every game was played without one,
+   *         or null if there was no test.
+   */
+  public Sprt.Decision getDecision() {
+    return this.decision;
+  }
+
+  /**
+   * Gets the Elo difference of the first entrant over the second from their score.
+   *
+   * @return The Elo difference.
+   */
+  public double getEloDifference() {
+    int games = getGames();
+    return games == 0 ? 0 : Elo.difference((this.wins + this.ties / 2.0) / games);
+  }
+
+  /**
+   * Gets the 95% confidence interval of the Elo difference.
+   *
+   * @return The lower and the upper end of the interval.
+   */
+  public double[] getInterval() {
+    return Elo.interval(this.wins, this.ties, this.losses);
+  }
+
+  @Override
+  public String toString() {
+    double[] interval = getInterval();
+    return String.format("%s vs %s: +%d =%d -%d, Elo %+.1f [%+.1f, %+.1f]%s", this.first,
+            this.second, this.wins, this.ties, this.losses, getEloDifference(), interval[0],
+            interval[1], this.decision == null ? "" : ", SPRT " + this.decision);
+  }
+}
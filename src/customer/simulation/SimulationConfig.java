@@ -0,0 +1,127 @@
+package customer.simulation;
+
+import customer.gamefeatures.BattleType;
+import customer.gamefeatures.ModType;
+
+/**
+ * The settings of a batch of headless games: the grid and card files, the battle and
+ * modification types every card plays with, how many games are played on how many threads,
+ * and whether the cards are shuffled. When they are, game number i shuffles with a Random
+ * seeded with seed + i, so that a batch could be played again with the same deals.
+ */
+public class SimulationConfig {
+  private final String gridFile;
+  private final String cardFile;
+  private final BattleType battleType;
+  private final ModType modType;
+  private final int games;
+  private final int threads;
+  private final boolean shuffle;
+  private final long seed;
+
+  /**
+   * Constructor for SimulationConfig.
+   *
+   * @param gridFile   File path of the grid configuration.
+   * @param cardFile   File path of the card configuration.
+   * @param battleType The battle type of every card, could be null for the normal battle.
+   * @param modType    The modification type of every card, could be null for none.
+   * @param games      The number of games to play, at least 1.
+   * @param threads    The number of threads to play them on, at least 1.
+   * @param shuffle    Whether to shuffle the cards before dealing them.
+   * @param seed       The seed of the shuffles.
+   */
+  public SimulationConfig(String gridFile, String cardFile, BattleType battleType,
+                          ModType modType, int games, int threads, boolean shuffle,
+                          long seed) {
+    if (gridFile == null || cardFile == null) {
+      throw new IllegalArgumentException("The grid and card files cannot be null.");
+    }
+    if (games < 1) {
+      throw new IllegalArgumentException("At least one game must be played.");
+    }
+    if (threads < 1) {
+      throw new IllegalArgumentException("At least one thread is needed.");
+    }
+    this.gridFile = gridFile;
+    this.cardFile = cardFile;
+    this.battleType = battleType;
+    this.modType = modType;
+    this.games = games;
+    this.threads = threads;
+    this.shuffle = shuffle;
+    this.seed = seed;
+  }
+
+  /**
+   * Gets the file path of the grid configuration.
+   *
+   * @return The grid file.
+   */
+  public String getGridFile() {
+    return this.gridFile;
+  }
+
+  /**
+   * Gets the file path of the card configuration.
+   *
+   * @return The card file.
+   */
+  public String getCardFile() {
+    return this.cardFile;
+  }
+
+  /**
+   * Gets the battle type every card plays with.
+   *
+   * @return The battle type, could be null.
+   */
+  public BattleType getBattleType() {
+    return this.battleType;
+  }
+
+  /**
+   * Gets the modification type every card plays with.
+   *
+   * @return The modification type, could be null.
+   */
+  public ModType getModType() {
+    return this.modType;
+  }
+
+  /**
+   * Gets the number of games to play.
+   *
+   * @return The number of games.
+   */
+  public int getGames() {
+    return this.games;
+  }
+
+  /**
+   * Gets the number of threads the games are played on.
+   *
+   * @return The number of threads.
+   */
+  public int getThreads() {
+    return this.threads;
+  }
+
+  /**
+   * Gets whether the cards are shuffled before dealing them.
+   *
+   * @return True if the cards are shuffled.
+   */
+  public boolean isShuffle() {
+    return this.shuffle;
+  }
+
+  /**
+   * Gets the seed of the shuffles.
+   *
+   * @return The seed.
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+}
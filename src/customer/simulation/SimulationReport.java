@@ -0,0 +1,153 @@
+package customer.simulation;
+
+import customer.gamefeatures.ColorType;
+
+/**
+ * The results of a batch of headless games: the wins of each player and the ties,
+ * and for each player the number of moves, the cards flipped by them and the time spent
+ * picking them. RED is always the player moving first.
+ * Every thread of a batch fills a report of its own, and they are merged at the end.
+ */
+public class SimulationReport {
+  private int games;
+  private int redWins;
+  private int blueWins;
+  private int ties;
+  // indexed by the ordinal of the color of the player
+  private final long[] moves = new long[ColorType.values().length];
+  private final long[] flips = new long[ColorType.values().length];
+  private final long[] moveNanos = new long[ColorType.values().length];
+  private final long[] maxMoveNanos = new long[ColorType.values().length];
+
+  /**
+   * Record the end of a game.
+   *
+   * @param winner The color of the winner, null for a tie.
+   */
+  void addGame(ColorType winner) {
+    this.games += 1;
+    if (winner == ColorType.RED) {
+      this.redWins += 1;
+    } else if (winner == ColorType.BLUE) {
+      this.blueWins += 1;
+    } else {
+      this.ties += 1;
+    }
+  }
+
+  /**
+   * Record a move.
+   *
+   * @param mover   The color of the player who moved.
+   * @param flipped The number of cards the move flipped.
+   * @param nanos   The time spent picking the move, in nanoseconds.
+   */
+  void addMove(ColorType mover, int flipped, long nanos) {
+    int i = mover.ordinal();
+    this.moves[i] += 1;
+    this.flips[i] += flipped;
+    this.moveNanos[i] += nanos;
+    this.maxMoveNanos[i] = Math.max(this.maxMoveNanos[i], nanos);
+  }
+
+  /**
+   * Add the results of another report to this one.
+   *
+   * @param other The other report.
+   */
+  void merge(SimulationReport other) {
+    this.games += other.games;
+    this.redWins += other.redWins;
+    this.blueWins += other.blueWins;
+    this.ties += other.ties;
+    for (int i = 0; i < this.moves.length; i += 1) {
+      this.moves[i] += other.moves[i];
+      this.flips[i] += other.flips[i];
+      this.moveNanos[i] += other.moveNanos[i];
+      this.maxMoveNanos[i] = Math.max(this.maxMoveNanos[i], other.maxMoveNanos[i]);
+    }
+  }
+
+  /**
+   * Gets the number of games played.
+   *
+   * @return The number of games.
+   */
+  public int getGames() {
+    return this.games;
+  }
+
+  /**
+   * Gets the number of games won by the given player.
+   *
+   * @param color The color of the player.
+   * @return The number of wins.
+   */
+  public int getWins(ColorType color) {
+    return color == ColorType.RED ? this.redWins : this.blueWins;
+  }
+
+  /**
+   * Gets the number of tie games.
+   *
+   * @return The number of ties.
+   */
+  public int getTies() {
+    return this.ties;
+  }
+
+  /**
+   * Gets the share of the games won by the given player.
+   *
+   * @param color The color of the player.
+   * @return The win rate, between 0 and 1.
+   */
+  public double getWinRate(ColorType color) {
+    return this.games == 0 ? 0 : (double) getWins(color) / this.games;
+  }
+
+  /**
+   * Gets the average number of cards flipped by a move of the given player.
+   *
+   * @param color The color of the player.
+   * @return The average flips per move.
+   */
+  public double getAverageFlips(ColorType color) {
+    int i = color.ordinal();
+    return this.moves[i] == 0 ? 0 : (double) this.flips[i] / this.moves[i];
+  }
+
+  /**
+   * Gets the average time the given player spent picking a move.
+   *
+   * @param color The color of the player.
+   * @return The average latency of a move, in milliseconds.
+   */
+  public double getAverageMoveMillis(ColorType color) {
+    int i = color.ordinal();
+    return this.moves[i] == 0 ? 0 : this.moveNanos[i] / 1e6 / this.moves[i];
+  }
+
+  /**
+   * Gets the longest time the given player spent picking a move.
+   *
+   * @param color The color of the player.
+   * @return The largest latency of a move, in milliseconds.
+   */
+  public double getMaxMoveMillis(ColorType color) {
+    return this.maxMoveNanos[color.ordinal()] / 1e6;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append("Games: ").append(this.games).append(", ties: ").append(this.ties).append("\n");
+    for (ColorType color : new ColorType[]{ColorType.RED, ColorType.BLUE}) {
+      sb.append(String.format("%s: win rate %.3f, flips per move %.3f, "
+                      + "move latency %.3f ms (max %.3f ms)%n", color,
+              getWinRate(color), getAverageFlips(color), getAverageMoveMillis(color),
+              getMaxMoveMillis(color)));
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,212 @@
+package customer.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import customer.gamefeatures.BattleType;
+import customer.gamefeatures.Card;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.IPlayer;
+import customer.gamefeatures.ModType;
+import customer.model.MoveRecord;
+import customer.model.ThreeTriosGameModel;
+import customer.model.ThreeTriosModel;
+import customer.strategiccomputerplayer.AlphaBetaStrategy;
+import customer.strategiccomputerplayer.CornerStrategy;
+import customer.strategiccomputerplayer.MaxFlipStrategy;
+import customer.strategiccomputerplayer.MctsStrategy;
+import customer.strategiccomputerplayer.Move;
+import customer.strategiccomputerplayer.ParallelMaxFlipStrategy;
+import customer.strategiccomputerplayer.PlayoutPolicy;
+import customer.strategiccomputerplayer.Strategy;
+
+/**
+ * Plays a batch of games between two strategies without the GUI. Every game has a model of
+ * its own and a new strategy for each player made by its factory, and the games are split
+ * across a fixed pool of threads, each filling a report of its own.
+ * The strategies do not share anything between games unless their factories make them.
+ */
+public class SimulationRunner {
+  private final SimulationConfig config;
+  private final Function<ThreeTriosModel, Strategy> redFactory;
+  private final Function<ThreeTriosModel, Strategy> blueFactory;
+
+  /**
+   * Constructor for SimulationRunner.
+   *
+   * @param config      The settings of the batch.
+   * @param redFactory  Makes the strategy of the player moving first from the game model.
+   * @param blueFactory Makes the strategy of the other player from the game model.
+   */
+  public SimulationRunner(SimulationConfig config, Function<ThreeTriosModel, Strategy> redFactory,
+                          Function<ThreeTriosModel, Strategy> blueFactory) {
+    if (config == null || redFactory == null || blueFactory == null) {
+      throw new IllegalArgumentException("The config and the strategies cannot be null.");
+    }
+    this.config = config;
+    this.redFactory = redFactory;
+    this.blueFactory = blueFactory;
+  }
+
+  /**
+   * Play every game of the batch and wait for them to finish.
+   *
+   * @return The results of the batch.
+   */
+  public SimulationReport run() {
+    int threads = Math.min(this.config.getThreads(), this.config.getGames());
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<SimulationReport>> parts = new ArrayList<>();
+      for (int t = 0; t < threads; t += 1) {
+        final int first = t;
+        parts.add(pool.submit(() -> {
+          SimulationReport part = new SimulationReport();
+          for (int game = first; game < this.config.getGames(); game += threads) {
+            playGame(game, part);
+          }
+          return part;
+        }));
+      }
+      SimulationReport report = new SimulationReport();
+      for (Future<SimulationReport> part : parts) {
+        report.merge(part.get());
+      }
+      return report;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("The simulation was interrupted.");
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A game failed: " + e.getCause(), e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Play one game of the batch to the end.
+   *
+   * @param game   The number of the game in the batch.
+   * @param report The report to record the game in.
+   */
+  void playGame(int game, SimulationReport report) {
+    playGame(this.config, this.config.getSeed() + game, this.redFactory, this.blueFactory,
+            report);
+  }
+
+  /**
+   * Play one game with the grid, cards and variant of a config to the end.
+   *
+   * @param config      The settings of the game.
+   * @param seed        The seed to shuffle the cards with, if the config shuffles them.
+   * @param redFactory  Makes the strategy of the player moving first from the game model.
+   * @param blueFactory Makes the strategy of the other player from the game model.
+   * @param report      The report to record the game in, could be null.
+   * @return The color of the winner, null for a tie.
+   */
+  static ColorType playGame(SimulationConfig config, long seed,
+                            Function<ThreeTriosModel, Strategy> redFactory,
+                            Function<ThreeTriosModel, Strategy> blueFactory,
+                            SimulationReport report) {
+    ThreeTriosModel model = new ThreeTriosGameModel(new Random(seed));
+    model.startGame(config.getGridFile(), config.getCardFile(), config.isShuffle());
+    setVariant(model.getPlayerA(), config.getBattleType(), config.getModType());
+    setVariant(model.getPlayerB(), config.getBattleType(), config.getModType());
+    Strategy red = redFactory.apply(model);
+    Strategy blue = blueFactory.apply(model);
+
+    IPlayer mover = model.getPlayerA();
+    while (!model.isOver() && !mover.getHand().isEmpty()) {
+      Strategy strategy = mover == model.getPlayerA() ? red : blue;
+      long start = System.nanoTime();
+      Move move = strategy.getBestMove(mover);
+      long nanos = System.nanoTime() - start;
+      MoveRecord record = model.applyMove(move.getCardIdx(), move.getPosition().x,
+              move.getPosition().y, mover);
+      if (report != null) {
+        report.addMove(mover.getColorType(), record.getFlips().size(), nanos);
+      }
+      mover = mover == model.getPlayerA() ? model.getPlayerB() : model.getPlayerA();
+    }
+    IPlayer winner = model.getWinner();
+    ColorType winnerColor = winner == null ? null : winner.getColorType();
+    if (report != null) {
+      report.addGame(winnerColor);
+    }
+    return winnerColor;
+  }
+
+  /**
+   * Set the battle and modification types of every card in the hand of a player,
+   * as the GUI does when it shows them.
+   */
+  private static void setVariant(IPlayer player, BattleType battleType, ModType modType) {
+    for (Card card : player.getHand()) {
+      card.setBattleType(battleType);
+      card.setModType(modType);
+    }
+  }
+
+  /**
+   * Get the factory of a strategy from its name: maxflip, parallelmaxflip, corner,
+   * alphabeta:depth or mcts:playouts.
+   *
+   * @param name The name of the strategy.
+   * @return The factory making the strategy from the game model.
+   */
+  public static Function<ThreeTriosModel, Strategy> strategyFactory(String name) {
+    String[] parts = name.toLowerCase().split(":");
+    switch (parts[0]) {
+      case "maxflip":
+        return MaxFlipStrategy::new;
+      case "parallelmaxflip":
+        return ParallelMaxFlipStrategy::new;
+      case "corner":
+        return CornerStrategy::new;
+      case "alphabeta":
+        int depth = parts.length > 1 ? Integer.parseInt(parts[1]) : 4;
+        return model -> new AlphaBetaStrategy(model, depth);
+      case "mcts":
+        int playouts = parts.length > 1 ? Integer.parseInt(parts[1]) : 1000;
+        // seeded from the deal, so that a seeded batch plays the same games again
+        return model -> new MctsStrategy(model, playouts, PlayoutPolicy.GREEDY,
+                new Random(model.getPositionHash()));
+      default:
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+  }
+
+  /**
+   * Plays a batch of games and prints the report.
+   *
+   * @param args The grid file, the card file, the red and blue strategies, the number of games,
+   *             and optionally the number of threads, the battle type, the modification type
+   *             and the seed to shuffle the cards with.
+   */
+  public static void main(String[] args) {
+    if (args.length < 5 || args.length > 9) {
+      System.out.println("Usage: SimulationRunner <grid file> <card file> <red strategy> "
+              + "<blue strategy> <games> [threads] [battle type] [mod type] [seed]");
+      return;
+    }
+    int threads = args.length > 5 ? Integer.parseInt(args[5])
+            : Runtime.getRuntime().availableProcessors();
+    BattleType battleType = args.length > 6 ? BattleType.valueOf(args[6].toUpperCase()) : null;
+    ModType modType = args.length > 7 ? ModType.valueOf(args[7].toUpperCase()) : null;
+    boolean shuffle = args.length > 8;
+    long seed = shuffle ? Long.parseLong(args[8]) : 0;
+    SimulationConfig config = new SimulationConfig(args[0], args[1], battleType, modType,
+            Integer.parseInt(args[4]), threads, shuffle, seed);
+    long start = System.nanoTime();
+    SimulationReport report = new SimulationRunner(config, strategyFactory(args[2]),
+            strategyFactory(args[3])).run();
+    System.out.print(report);
+    System.out.println("Took " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+  }
+}
@@ -0,0 +1,90 @@
+package customer.simulation;
+
+/**
+ * A sequential probability ratio test on the Elo difference between two players, used to stop
+ * a match as soon as it is clear enough which of two hypotheses holds: H0, the first player is
+ * elo0 stronger, or H1, it is elo1 stronger. The log-likelihood ratio is worked out from the
+ * wins, ties and losses with the normal approximation of the mean score, and the test stops
+ * once it leaves the bounds given by the chances alpha and beta of accepting the wrong one.
+ */
+public class Sprt {
+  /**
+   * The outcome of the test so far.
+   */
+  public enum Decision {
+    ACCEPT_H0,
+    ACCEPT_H1,
+    CONTINUE
+  }
+
+  // the games added to the wins and to the losses when working out the variance
+  private static final double PSEUDO_COUNT = 0.5;
+
+  private final double elo0;
+  private final double elo1;
+  private final double lowerBound;
+  private final double upperBound;
+
+  /**
+   * Constructor for Sprt.
+   *
+   * @param elo0  The Elo difference of H0.
+   * @param elo1  The Elo difference of H1, larger than elo0.
+   * @param alpha The chance of accepting H1 when H0 holds, between 0 and 1.
+   * @param beta  The chance of accepting H0 when H1 holds, between 0 and 1.
+   */
+  public Sprt(double elo0, double elo1, double alpha, double beta) {
+    if (elo1 <= elo0) {
+      throw new IllegalArgumentException("elo1 must be larger than elo0.");
+    }
+    if (alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1) {
+      throw new IllegalArgumentException("alpha and beta must be between 0 and 1.");
+    }
+    this.elo0 = elo0;
+    this.elo1 = elo1;
+    this.lowerBound = Math.log(beta / (1 - alpha));
+    this.upperBound = Math.log((1 - beta) / alpha);
+  }
+
+  /**
+   * Get the log-likelihood ratio of H1 against H0 for the results of the first player.
+   *
+   * @param wins   The games won by the first player.
+   * @param ties   The tie games.
+   * @param losses The games lost by the first player.
+   * @return The log-likelihood ratio, 0 while no game has been played.
+   */
+  public double llr(int wins, int ties, int losses) {
+    int games = wins + ties + losses;
+    if (games == 0) {
+      return 0;
+    }
+    double score = (wins + ties / 2.0) / games;
+    // half a win and half a loss are added to the variance, so that results that are all
+    // wins, all ties or all losses still have a variance and the test could stop on them
+    double variance = ((wins + PSEUDO_COUNT) * Math.pow(1 - score, 2)
+            + ties * Math.pow(0.5 - score, 2)
+            + (losses + PSEUDO_COUNT) * Math.pow(score, 2)) / (games + 2 * PSEUDO_COUNT);
+    double score0 = Elo.expectedScore(this.elo0);
+    double score1 = Elo.expectedScore(this.elo1);
+    return (score1 - score0) * (2 * score - score0 - score1) * games / (2 * variance);
+  }
+
+  /**
+   * Decide on the results of the first player so far.
+   *
+   * @param wins   The games won by the first player.
+   * @param ties   The tie games.
+   * @param losses The games lost by the first player.
+   * @return Which hypothesis is accepted, or CONTINUE to play more games.
+   */
+  public Decision decide(int wins, int ties, int losses) {
+    double llr = llr(wins, ties, losses);
+    if (llr >= this.upperBound) {
+      return Decision.ACCEPT_H1;
+    } else if (llr <= this.lowerBound) {
+      return Decision.ACCEPT_H0;
+    }
+    return Decision.CONTINUE;
+  }
+}
@@ -0,0 +1,195 @@
+package customer.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import customer.gamefeatures.ColorType;
+import customer.model.ThreeTriosModel;
+import customer.strategiccomputerplayer.Strategy;
+
+/**
+ * A round robin tournament between strategies without the GUI. Every pair of entrants plays
+ * up to the number of games of the config, which must be even, in pairs of games on the same
+ * deal with the colors swapped, so neither gets the better cards or the first move more often. Game pair k of
+ * pairing p is dealt with the seed of the config plus p times the game pairs per pairing plus k,
+ * so a tournament with the same seed plays the same deals.
+ * The game pairs of a pairing are played in batches across the threads of the config and
+ * their results are counted in order, and when there is a SPRT a pairing stops at the first
+ * game pair its decision is reached on, so the results do not depend on the thread count.
+ */
+public class Tournament {
+  /**
+   * The Elo difference of H0 of the SPRT used by main.
+   */
+  public static final double DEFAULT_ELO0 = 0;
+  /**
+   * The Elo difference of H1 of the SPRT used by main.
+   */
+  public static final double DEFAULT_ELO1 = 20;
+
+  private final SimulationConfig config;
+  private final Sprt sprt;
+  private final List<String> names;
+  private final List<Function<ThreeTriosModel, Strategy>> factories;
+
+  /**
+   * Constructor for Tournament.
+   *
+   * @param config The settings of the games, the number of games is the most per pairing
+   *               and must be even.
+   * @param sprt   The test stopping a pairing early, null to play every game.
+   */
+  public Tournament(SimulationConfig config, Sprt sprt) {
+    if (config == null) {
+      throw new IllegalArgumentException("The config cannot be null.");
+    }
+    if (config.getGames() % 2 != 0) {
+      throw new IllegalArgumentException("The games of a pairing are played in pairs with "
+              + "the colors swapped, so the number of games must be even.");
+    }
+    this.config = config;
+    this.sprt = sprt;
+    this.names = new ArrayList<>();
+    this.factories = new ArrayList<>();
+  }
+
+  /**
+   * Add a strategy to the tournament.
+   *
+   * @param name    The name of the entrant, different from the others.
+   * @param factory Makes the strategy from the game model.
+   */
+  public void addEntrant(String name, Function<ThreeTriosModel, Strategy> factory) {
+    if (name == null || factory == null) {
+      throw new IllegalArgumentException("The name and the strategy cannot be null.");
+    }
+    if (this.names.contains(name)) {
+      throw new IllegalArgumentException("There is already an entrant named " + name);
+    }
+    this.names.add(name);
+    this.factories.add(factory);
+  }
+
+  /**
+   * Play every pairing of the tournament and wait for them to finish.
+   *
+   * @return The results of the tournament.
+   */
+  public TournamentReport run() {
+    int n = this.names.size();
+    if (n < 2) {
+      throw new IllegalStateException("A tournament needs at least two entrants.");
+    }
+    ExecutorService pool = Executors.newFixedThreadPool(this.config.getThreads());
+    try {
+      double[][] points = new double[n][n];
+      int[][] games = new int[n][n];
+      List<PairingResult> pairings = new ArrayList<>();
+      int pairing = 0;
+      for (int i = 0; i < n; i += 1) {
+        for (int j = i + 1; j < n; j += 1) {
+          PairingResult result = playPairing(pool, pairing, i, j);
+          pairings.add(result);
+          points[i][j] = result.getWins() + result.getTies() / 2.0;
+          points[j][i] = result.getLosses() + result.getTies() / 2.0;
+          games[i][j] = result.getGames();
+          games[j][i] = result.getGames();
+          pairing += 1;
+        }
+      }
+      return new TournamentReport(this.names, Elo.fit(points, games), pairings);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("The tournament was interrupted.");
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("A game failed: " + e.getCause(), e.getCause());
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Play the games between two entrants.
+   *
+   * @param pool    The pool to play the games on.
+   * @param pairing The number of the pairing in the tournament.
+   * @param first   The index of the first entrant.
+   * @param second  The index of the second entrant.
+   * @return The results of the pairing.
+   */
+  private PairingResult playPairing(ExecutorService pool, int pairing, int first, int second)
+          throws InterruptedException, ExecutionException {
+    Function<ThreeTriosModel, Strategy> firstFactory = this.factories.get(first);
+    Function<ThreeTriosModel, Strategy> secondFactory = this.factories.get(second);
+    int gamePairs = this.config.getGames() / 2;
+    int wins = 0;
+    int ties = 0;
+    int losses = 0;
+    Sprt.Decision decision = this.sprt == null ? null : Sprt.Decision.CONTINUE;
+    int next = 0;
+    while (next < gamePairs && (decision == null || decision == Sprt.Decision.CONTINUE)) {
+      int end = Math.min(gamePairs, next + this.config.getThreads());
+      List<Future<ColorType[]>> batch = new ArrayList<>();
+      for (int k = next; k < end; k += 1) {
+        long seed = this.config.getSeed() + (long) pairing * gamePairs + k;
+        batch.add(pool.submit(() -> new ColorType[]{
+            SimulationRunner.playGame(this.config, seed, firstFactory, secondFactory, null),
+            SimulationRunner.playGame(this.config, seed, secondFactory, firstFactory, null)}));
+      }
+      for (int k = 0; k < batch.size(); k += 1) {
+        if (decision != null && decision != Sprt.Decision.CONTINUE) {
+          batch.get(k).cancel(true);
+          continue;
+        }
+        ColorType[] winners = batch.get(k).get();
+        // the first entrant is red in the first game and blue in the second
+        ColorType[] firstColors = {ColorType.RED, ColorType.BLUE};
+        for (int game = 0; game < winners.length; game += 1) {
+          if (winners[game] == null) {
+            ties += 1;
+          } else if (winners[game] == firstColors[game]) {
+            wins += 1;
+          } else {
+            losses += 1;
+          }
+        }
+        if (this.sprt != null) {
+          decision = this.sprt.decide(wins, ties, losses);
+        }
+      }
+      next = end;
+    }
+    return new PairingResult(this.names.get(first), this.names.get(second), wins, ties, losses,
+            decision);
+  }
+
+  /**
+   * Plays a round robin tournament and prints the report.
+   *
+   * @param args The grid file, the card file, the most games per pairing, which is even,
+   *             the number of threads, the seed to shuffle the cards with, and two or more
+   *             strategies as named by SimulationRunner.strategyFactory.
+   */
+  public static void main(String[] args) {
+    if (args.length < 7) {
+      System.out.println("Usage: Tournament <grid file> <card file> <games> <threads> <seed> "
+              + "<strategy> <strategy> [strategy...]");
+      return;
+    }
+    SimulationConfig config = new SimulationConfig(args[0], args[1], null, null,
+            Integer.parseInt(args[2]), Integer.parseInt(args[3]), true, Long.parseLong(args[4]));
+    Tournament tournament = new Tournament(config,
+            new Sprt(DEFAULT_ELO0, DEFAULT_ELO1, 0.05, 0.05));
+    for (int i = 5; i < args.length; i += 1) {
+      tournament.addEntrant(args[i], SimulationRunner.strategyFactory(args[i]));
+    }
+    long start = System.nanoTime();
+    System.out.print(tournament.run());
+    System.out.println("Took " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+  }
+}
@@ -0,0 +1,71 @@
+package customer.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The results of a round robin tournament: the result of every pairing and the Elo rating
+ * of every entrant fitted to all of them, averaging 0.
+ */
+public class TournamentReport {
+  private final List<String> names;
+  private final double[] ratings;
+  private final List<PairingResult> pairings;
+
+  /**
+   * Constructor for TournamentReport.
+   *
+   * @param names    The names of the entrants.
+   * @param ratings  The rating of every entrant, in the same order.
+   * @param pairings The result of every pairing.
+   */
+  public TournamentReport(List<String> names, double[] ratings, List<PairingResult> pairings) {
+    this.names = new ArrayList<>(names);
+    this.ratings = ratings.clone();
+    this.pairings = new ArrayList<>(pairings);
+  }
+
+  /**
+   * Gets the names of the entrants.
+   *
+   * @return The names, in the order they were added.
+   */
+  public List<String> getNames() {
+    return new ArrayList<>(this.names);
+  }
+
+  /**
+   * Gets the Elo rating of an entrant.
+   *
+   * @param name The name of the entrant.
+   * @return The rating.
+   */
+  public double getRating(String name) {
+    int i = this.names.indexOf(name);
+    if (i < 0) {
+      throw new IllegalArgumentException("No entrant named " + name);
+    }
+    return this.ratings[i];
+  }
+
+  /**
+   * Gets the result of every pairing.
+   *
+   * @return The pairings, in the order they were played.
+   */
+  public List<PairingResult> getPairings() {
+    return new ArrayList<>(this.pairings);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < this.names.size(); i += 1) {
+      sb.append(String.format("%-20s %+8.1f%n", this.names.get(i), this.ratings[i]));
+    }
+    for (PairingResult pairing : this.pairings) {
+      sb.append(pairing).append("\n");
+    }
+    return sb.toString();
+  }
+}
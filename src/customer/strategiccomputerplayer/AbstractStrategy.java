@@ -1,6 +1,12 @@
 package customer.strategiccomputerplayer;
 
+import java.awt.Point;
+
 import customer.gamefeatures.Card;
+import customer.gamefeatures.DirectionType;
+import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.IPlayer;
+import customer.model.GridSymmetry;
 import customer.model.ThreeTriosModel;
 
 /**
@@ -8,8 +14,15 @@ import customer.model.ThreeTriosModel;
  * can be made.
  */
 public abstract class AbstractStrategy implements Strategy {
+  /**
+   * The number of empty cells left at which the strategies solve the rest of the game exactly.
+   */
+  public static final int DEFAULT_ENDGAME_THRESHOLD = 4;
 
   protected ThreeTriosModel model;
+  protected int endgameThreshold = DEFAULT_ENDGAME_THRESHOLD;
+  private EndgameSolver endgameSolver;
+  protected OpeningBook openingBook;
 
   /**
    * Constructor for AbstractStrategy.
@@ -20,6 +33,83 @@ public abstract class AbstractStrategy implements Strategy {
     this.model = model;
   }
 
+  /**
+   * Set the number of empty cells left at which this strategy stops using its own way of
+   * picking a move and solves the rest of the game exactly instead.
+   *
+   * @param endgameThreshold The number of empty cells, 0 to never solve the game.
+   */
+  public void setEndgameThreshold(int endgameThreshold) {
+    if (endgameThreshold < 0) {
+      throw new IllegalArgumentException("The endgame threshold cannot be negative.");
+    }
+    this.endgameThreshold = endgameThreshold;
+  }
+
+  /**
+   * Set the opening book this strategy plays from before picking a move its own way.
+   *
+   * @param openingBook The opening book, null to not use one.
+   */
+  public void setOpeningBook(OpeningBook openingBook) {
+    this.openingBook = openingBook;
+  }
+
+  /**
+   * Look up the current position in the opening book, and turn the move found back from
+   * the canonical symmetry of the position.
+   *
+   * @param player The player for this round.
+   * @return The move of the book, or null if there is no book or the position is not in it.
+   */
+  protected Move playFromBook(IPlayer player) {
+    if (this.openingBook == null) {
+      return null;
+    }
+    OpeningBook.Entry entry = this.openingBook.probe(this.model.getCanonicalHash());
+    if (entry == null) {
+      return null;
+    }
+    int symmetry = this.model.getCanonicalSymmetry();
+    GridSymmetry symmetries = this.model.getSymmetry();
+    IGameGrid grid = this.model.getGameGrid();
+    for (int i = 0; i < player.getHand().size(); i += 1) {
+      Card card = player.getHand().get(i);
+      // the book has no answer for cards played with other battle rules
+      if (!this.openingBook.isForRulesOf(card)
+              || symmetries.cardKey(symmetry, card) != entry.getCardKey()) {
+        continue;
+      }
+      for (int cell = grid.nextOpenCell(0); cell >= 0; cell = grid.nextOpenCell(cell + 1)) {
+        if (symmetries.mapCell(symmetry, cell) == entry.getCell()) {
+          int row = cell / grid.getCol();
+          int col = cell % grid.getCol();
+          return new Move(new Point(row, col), i, entry.getScore(),
+                  getBeFlippedProbability(card, col, row));
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Solve the rest of the game exactly if there are few enough empty cells left.
+   *
+   * @param player The player for this round.
+   * @return The optimal move whose score is the final margin of the game,
+   *         or null if there are too many empty cells left.
+   */
+  protected Move solveEndgame(IPlayer player) {
+    int cells = this.model.getGameGrid().getCells();
+    if (cells == 0 || cells > this.endgameThreshold || player.getHand().isEmpty()) {
+      return null;
+    }
+    if (this.endgameSolver == null) {
+      this.endgameSolver = new EndgameSolver(this.model);
+    }
+    return this.endgameSolver.solve(player);
+  }
+
   @Override
   public boolean isCorner(int x, int y) {
     // Get the total row and column size of the game grid
@@ -43,8 +133,7 @@ public abstract class AbstractStrategy implements Strategy {
 
   @Override
   public boolean ableToPlay(int x, int y) {
-    String name = this.model.getGameGrid().getGrid()[y][x].getName();
-    return name.equals("C");
+    return this.model.getGameGrid().isOpen(x, y);
   }
 
   @Override
@@ -56,29 +145,29 @@ public abstract class AbstractStrategy implements Strategy {
     if (this.isCorner(x, y)) {
       // Top-left corner
       if (y == 0 && x == 0) {
-        probability += card.getChanceToFlip("east");
-        probability += card.getChanceToFlip("south");
+        probability += card.getChanceToFlip(DirectionType.EAST);
+        probability += card.getChanceToFlip(DirectionType.SOUTH);
       }
       // Top-right corner
       if (y == 0 && x == maxCol) {
-        probability += card.getChanceToFlip("west");
-        probability += card.getChanceToFlip("south");
+        probability += card.getChanceToFlip(DirectionType.WEST);
+        probability += card.getChanceToFlip(DirectionType.SOUTH);
       }
       // Bottom-left corner
       if (y == maxRow && x == 0) {
-        probability += card.getChanceToFlip("east");
-        probability += card.getChanceToFlip("north");
+        probability += card.getChanceToFlip(DirectionType.EAST);
+        probability += card.getChanceToFlip(DirectionType.NORTH);
       }
       // Bottom-right corner
       if (y == maxRow && x == maxCol) {
-        probability += card.getChanceToFlip("west");
-        probability += card.getChanceToFlip("north");
+        probability += card.getChanceToFlip(DirectionType.WEST);
+        probability += card.getChanceToFlip(DirectionType.NORTH);
       }
     } else {
-      probability += card.getChanceToFlip("north");
-      probability += card.getChanceToFlip("south");
-      probability += card.getChanceToFlip("east");
-      probability += card.getChanceToFlip("west");
+      probability += card.getChanceToFlip(DirectionType.NORTH);
+      probability += card.getChanceToFlip(DirectionType.SOUTH);
+      probability += card.getChanceToFlip(DirectionType.EAST);
+      probability += card.getChanceToFlip(DirectionType.WEST);
     }
     return probability;
   }
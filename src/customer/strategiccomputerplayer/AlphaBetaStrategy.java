@@ -0,0 +1,354 @@
+package customer.strategiccomputerplayer;
+
+import java.awt.Point;
+import java.util.List;
+
+import customer.gamefeatures.Card;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.IPlayer;
+import customer.model.GridSymmetry;
+import customer.model.ThreeTriosModel;
+
+/**
+ * Implements a depth-limited minimax strategy with alpha-beta pruning for the AI.
+ * A position is worth the number of the player's cards on the grid minus the number of
+ * the opponent's cards. Every decision searches its own copy of the model from copyGameModel,
+ * so the model given to the strategy is never changed and could be shared with other threads.
+ * The moves are played on the copy with applyMove and taken back with undoMove, the best move
+ * of every searched position is kept in a transposition table and tried first when
+ * the position comes up again, and the other moves are tried in the order of how many cards
+ * they win right away. The table is keyed on the canonical hash
+ * of the position and its moves are kept turned by the canonical symmetry, so positions that
+ * are the same up to a symmetry of the grid share their entry.
+ * The search deepens one move at a time up to the search depth, so that it could be stopped
+ * at a deadline with the best move of the deepest search finished.
+ */
+public class AlphaBetaStrategy extends AbstractStrategy implements AnytimeStrategy {
+  private static final int DEFAULT_TABLE_SIZE = 1 << 16;
+  private static final int INFINITY = 1000;
+  // the number of positions searched between two looks at the clock
+  private static final int CLOCK_INTERVAL = 1024;
+
+  private final int depth;
+  private final TranspositionTable table;
+  private long deadline;
+  private int nodes;
+  // the copy of the model searched by the current decision
+  private ThreeTriosModel position;
+  // set from another thread to stop the search, never cleared
+  private volatile boolean stopped;
+
+  /**
+   * Constructor for AlphaBetaStrategy with a transposition table of its own.
+   *
+   * @param model The current game customer.provider.model.
+   * @param depth The number of moves to look ahead, at least 1.
+   */
+  public AlphaBetaStrategy(ThreeTriosModel model, int depth) {
+    this(model, depth, new TranspositionTable(DEFAULT_TABLE_SIZE));
+  }
+
+  /**
+   * Constructor for AlphaBetaStrategy using the given transposition table.
+   *
+   * @param model The current game customer.provider.model.
+   * @param depth The number of moves to look ahead, at least 1.
+   * @param table The transposition table, could be shared with other strategies.
+   */
+  public AlphaBetaStrategy(ThreeTriosModel model, int depth, TranspositionTable table) {
+    super(model);
+    if (depth < 1) {
+      throw new IllegalArgumentException("The search depth should be at least 1.");
+    }
+    if (table == null) {
+      throw new IllegalArgumentException("The transposition table cannot be null.");
+    }
+    this.depth = depth;
+    this.table = table;
+  }
+
+  /**
+   * Create a strategy with the same search depth searching on another model, which shares
+   * the transposition table and the opening book of this strategy. Used to search a copy of
+   * the model in the background, so that the results are ready when this strategy searches
+   * the real model.
+   *
+   * @param other The model to search on.
+   * @param depth The number of moves to look ahead, at least 1.
+   * @return The strategy searching on the other model.
+   */
+  public AlphaBetaStrategy withModel(ThreeTriosModel other, int depth) {
+    AlphaBetaStrategy strategy = new AlphaBetaStrategy(other, depth, this.table);
+    strategy.setOpeningBook(this.openingBook);
+    return strategy;
+  }
+
+  /**
+   * Gets the number of moves this strategy looks ahead.
+   *
+   * @return The search depth.
+   */
+  public int getDepth() {
+    return this.depth;
+  }
+
+  /**
+   * Stop the running search and every later search of this strategy as soon as possible,
+   * could be called from any thread. A stopped search still returns the best move of the
+   * deepest search finished.
+   */
+  public void stop() {
+    this.stopped = true;
+  }
+
+  @Override
+  public Move getBestMove(IPlayer player) {
+    return getBestMove(player, Long.MAX_VALUE);
+  }
+
+  @Override
+  public Move getBestMove(IPlayer player, long deadline) {
+    List<Card> hand = player.getHand();
+    if (hand == null || hand.isEmpty()) {
+      throw new IllegalStateException("Player's hand is empty, no cards to play.");
+    }
+    if (model.getGameGrid().nextOpenCell(0) < 0) {
+      throw new IllegalStateException("No available positions to play for the player.");
+    }
+    Move booked = playFromBook(player);
+    if (booked != null) {
+      return booked;
+    }
+    Move solved = solveEndgame(player);
+    if (solved != null) {
+      return solved;
+    }
+    this.table.newSearch();
+    this.position = model.copyGameModel();
+    // the first search is never stopped, so there is always a move to return
+    this.deadline = deadline;
+    this.nodes = 0;
+    Move best = searchRoot(player.getColorType(), 1);
+    for (int current = 2; current <= this.depth && !this.stopped && System.nanoTime() < deadline;
+         current += 1) {
+      try {
+        best = searchRoot(player.getColorType(), current);
+      } catch (SearchTimeoutException e) {
+        // every move of the stopped search has been undone on the way out
+        break;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Search every move of the player and pick the best one. Moves with the same value
+   * are told apart by the order of Move, lower chance to be flipped first.
+   *
+   * @param color The color of the player to move.
+   * @param depth The number of moves to look ahead.
+   * @return The best move found.
+   */
+  protected Move searchRoot(ColorType color, int depth) {
+    IPlayer mover = playerOf(color);
+    IGameGrid grid = this.position.getGameGrid();
+    int size = grid.getRow() * grid.getCol();
+    int cols = grid.getCol();
+    long hash = this.position.getCanonicalHash();
+    int symmetry = this.position.getCanonicalSymmetry();
+    int[] moves = orderMoves(mover, this.table.probe(hash), symmetry, depth > 1);
+
+    Move best = null;
+    int bestValue = -INFINITY;
+    for (int move : moves) {
+      int cardIdx = move / size;
+      int row = (move % size) / cols;
+      int col = (move % size) % cols;
+      Card card = mover.getHand().get(cardIdx);
+      int value;
+      this.position.applyMove(cardIdx, row, col, mover);
+      try {
+        // only the moves at least as good as the best one need an exact value
+        value = -search(depth - 1, -INFINITY, -(bestValue - 1), color.reverse());
+      } finally {
+        this.position.undoMove();
+      }
+      Move current = new Move(new Point(row, col), cardIdx, value,
+              this.getBeFlippedProbability(card, col, row));
+      // moves are sorted from the best one, higher score first
+      if (best == null || current.compareTo(best) < 0) {
+        best = current;
+        bestValue = value;
+      }
+    }
+    Card bestCard = mover.getHand().get(best.getCardIdx());
+    GridSymmetry symmetries = this.position.getSymmetry();
+    this.table.store(hash, depth, bestValue, TranspositionTable.EXACT,
+            symmetries.cardKey(symmetry, bestCard),
+            symmetries.mapCell(symmetry, best.getPosition().x * cols + best.getPosition().y));
+    return best;
+  }
+
+  /**
+   * The negamax search with alpha-beta pruning.
+   *
+   * @param depth The number of moves left to look ahead.
+   * @param alpha The value the player to move is already sure to get.
+   * @param beta  The value the opponent is already sure to hold the player to.
+   * @param color The color of the player to move.
+   * @return The value of the position for the player to move.
+   */
+  protected int search(int depth, int alpha, int beta, ColorType color) {
+    IPlayer mover = playerOf(color);
+    if (depth == 0 || this.position.isOver() || mover.getHand().isEmpty()) {
+      return evaluate(color);
+    }
+    // the leaves are never stopped, so the search of depth 1 always finishes
+    this.nodes += 1;
+    if (this.stopped
+            || this.nodes % CLOCK_INTERVAL == 0 && System.nanoTime() >= this.deadline) {
+      throw new SearchTimeoutException();
+    }
+    long hash = this.position.getCanonicalHash();
+    int symmetry = this.position.getCanonicalSymmetry();
+    TranspositionTable.Entry entry = this.table.probe(hash);
+    if (entry != null && entry.getDepth() >= depth) {
+      if (entry.getBound() == TranspositionTable.EXACT) {
+        return entry.getValue();
+      } else if (entry.getBound() == TranspositionTable.LOWER) {
+        alpha = Math.max(alpha, entry.getValue());
+      } else {
+        beta = Math.min(beta, entry.getValue());
+      }
+      if (alpha >= beta) {
+        return entry.getValue();
+      }
+    }
+
+    IGameGrid grid = this.position.getGameGrid();
+    int size = grid.getRow() * grid.getCol();
+    int cols = grid.getCol();
+    GridSymmetry symmetries = this.position.getSymmetry();
+    int[] moves = orderMoves(mover, entry, symmetry, depth > 1);
+    int originalAlpha = alpha;
+    int bestValue = -INFINITY;
+    long bestCardKey = 0;
+    int bestCell = -1;
+    for (int move : moves) {
+      int cardIdx = move / size;
+      int cell = move % size;
+      int value;
+      this.position.applyMove(cardIdx, cell / cols, cell % cols, mover);
+      try {
+        value = -search(depth - 1, -beta, -alpha, color.reverse());
+      } finally {
+        this.position.undoMove();
+      }
+      if (value > bestValue) {
+        bestValue = value;
+        bestCardKey = symmetries.cardKey(symmetry, mover.getHand().get(cardIdx));
+        bestCell = symmetries.mapCell(symmetry, cell);
+      }
+      alpha = Math.max(alpha, value);
+      if (alpha >= beta) {
+        break;
+      }
+    }
+
+    int bound = TranspositionTable.EXACT;
+    if (bestValue <= originalAlpha) {
+      bound = TranspositionTable.UPPER;
+    } else if (bestValue >= beta) {
+      bound = TranspositionTable.LOWER;
+    }
+    this.table.store(hash, depth, bestValue, bound, bestCardKey, bestCell);
+    return bestValue;
+  }
+
+  /**
+   * Get every move of the player, each as card index * cell number + cell, in the order they
+   * should be searched: the best move stored in the table first, then the moves winning
+   * the most cards right away if they are looked at, then the hand and grid order.
+   *
+   * @param mover    The player to move.
+   * @param entry    The table entry of the position, could be null.
+   * @param symmetry The index of the symmetry the moves of the entry are turned by.
+   * @param byGain   Whether to try every move first to order by the cards it wins.
+   * @return The moves in search order.
+   */
+  private int[] orderMoves(IPlayer mover, TranspositionTable.Entry entry, int symmetry,
+                           boolean byGain) {
+    GridSymmetry symmetries = this.position.getSymmetry();
+    IGameGrid grid = this.position.getGameGrid();
+    int size = grid.getRow() * grid.getCol();
+    int cols = grid.getCol();
+    List<Card> hand = mover.getHand();
+    int[] moves = new int[hand.size() * grid.getCells()];
+    int[] keys = new int[moves.length];
+    int count = 0;
+    for (int i = 0; i < hand.size(); i += 1) {
+      long cardKey = symmetries.cardKey(symmetry, hand.get(i));
+      for (int cell = grid.nextOpenCell(0); cell >= 0; cell = grid.nextOpenCell(cell + 1)) {
+        moves[count] = i * size + cell;
+        if (entry != null && entry.getCell() == symmetries.mapCell(symmetry, cell)
+                && entry.getCardKey() == cardKey) {
+          keys[count] = Integer.MAX_VALUE;
+        } else if (byGain) {
+          this.position.applyMove(i, cell / cols, cell % cols, mover);
+          keys[count] = this.position.countCardOnGrid(mover.getColorType());
+          this.position.undoMove();
+        }
+        count += 1;
+      }
+    }
+    // insertion sort from the highest key, moves with the same key keep their order
+    for (int i = 1; i < count; i += 1) {
+      int move = moves[i];
+      int key = keys[i];
+      int j = i - 1;
+      while (j >= 0 && keys[j] < key) {
+        moves[j + 1] = moves[j];
+        keys[j + 1] = keys[j];
+        j -= 1;
+      }
+      moves[j + 1] = move;
+      keys[j + 1] = key;
+    }
+    return moves;
+  }
+
+  /**
+   * The value of the position for the given player.
+   *
+   * @param color The color of the player.
+   * @return The player's cards on the grid minus the opponent's cards on the grid.
+   */
+  protected int evaluate(ColorType color) {
+    return this.position.countCardOnGrid(color) - this.position.countCardOnGrid(color.reverse());
+  }
+
+  /**
+   * Get the player of the searched copy of the model with the given color.
+   *
+   * @param color The color of the player.
+   * @return Player A if the color is red, player B otherwise.
+   */
+  protected IPlayer playerOf(ColorType color) {
+    if (color == ColorType.RED) {
+      return this.position.getPlayerA();
+    }
+    return this.position.getPlayerB();
+  }
+
+  /**
+   * Thrown inside the search when the deadline has passed, to leave the search at once.
+   */
+  private static final class SearchTimeoutException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    SearchTimeoutException() {
+      super(null, null, false, false);
+    }
+  }
+}
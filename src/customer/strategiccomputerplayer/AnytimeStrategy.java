@@ -0,0 +1,20 @@
+package customer.strategiccomputerplayer;
+
+import customer.gamefeatures.IPlayer;
+
+/**
+ * The interface for the strategies that could be stopped at any time and still give
+ * the best move found so far, so that the AI keeps within a time limit for every turn.
+ */
+public interface AnytimeStrategy extends Strategy {
+
+  /**
+   * Get the best move for the given player found before the deadline. A move is always
+   * returned, even if the deadline has already passed when the search starts.
+   *
+   * @param player   The player for this round.
+   * @param deadline The time to stop searching, as a System.nanoTime() value.
+   * @return The best move found for this player.
+   */
+  Move getBestMove(IPlayer player, long deadline);
+}
@@ -5,7 +5,6 @@ import java.util.ArrayList;
 import java.util.List;
 
 import customer.gamefeatures.IPlayer;
-import customer.gamefeatures.Player;
 import customer.model.ThreeTriosModel;
 
 /**
@@ -28,14 +27,29 @@ public class CornerStrategy extends AbstractStrategy {
 
   @Override
   public Move getBestMove(IPlayer player) {
+    // Play the move of the opening book when the position is in it
+    Move booked = playFromBook(player);
+    if (booked != null) {
+      this.bestMove = booked;
+      return booked;
+    }
+    // Play perfectly when the rest of the game is small enough to be solved
+    Move solved = solveEndgame(player);
+    if (solved != null) {
+      this.bestMove = solved;
+      return solved;
+    }
+
     // Initialize list to hold best corner moves
     List<Move> cornerMoves = new ArrayList<>();
 
-    // Get best move for each corner
-    Move topLeft = getBestMoveAtCorner(player, "topleft");
-    Move topRight = getBestMoveAtCorner(player, "topright");
-    Move botLeft = getBestMoveAtCorner(player, "botleft");
-    Move botRight = getBestMoveAtCorner(player, "botright");
+    // Get best move for each corner, searching one copy of the model so the model shared
+    // with the game is never changed
+    ThreeTriosModel search = model.copyGameModel();
+    Move topLeft = getBestMoveAtCorner(player, "topleft", search);
+    Move topRight = getBestMoveAtCorner(player, "topright", search);
+    Move botLeft = getBestMoveAtCorner(player, "botleft", search);
+    Move botRight = getBestMoveAtCorner(player, "botright", search);
 
     // Add valid corner moves to the list
     if (topLeft != null && topLeft.getScore() >= 0) {
@@ -60,12 +74,10 @@ public class CornerStrategy extends AbstractStrategy {
         }
       }
       this.bestMove = bestCornerMove;
-      System.out.println("Best Corner Move: " + bestCornerMove);
     } else {
       // If no corner moves available, use BestCardToChoose
       MaxFlipStrategy bestCardStrategy = new MaxFlipStrategy(model);
       this.bestMove = bestCardStrategy.getBestMove(player);
-      System.out.println("No corner moves available. Best Card Move: " + bestMove);
     }
 
     return bestMove;
@@ -79,6 +91,19 @@ public class CornerStrategy extends AbstractStrategy {
    * @return The best move for this corner, or null if no move is possible.
    */
   public Move getBestMoveAtCorner(IPlayer player, String corner) {
+    return getBestMoveAtCorner(player, corner, model.copyGameModel());
+  }
+
+  /**
+   * Get the best move at the given corner by simulating the moves on the given copy
+   * of the model.
+   *
+   * @param player The player for this round.
+   * @param corner The corner to play cards to.
+   * @param search The copy of the model to simulate the moves on.
+   * @return The best move for this corner, or null if no move is possible.
+   */
+  private Move getBestMoveAtCorner(IPlayer player, String corner, ThreeTriosModel search) {
     int row = 0;
     int col = 0;
     switch (corner.toLowerCase()) {
@@ -100,45 +125,27 @@ public class CornerStrategy extends AbstractStrategy {
 
     Move bestMoveAtCorner = null;
 
+    // No card could be played to a corner that is a hole or already has a card
+    if (!ableToPlay(col, row)) {
+      return null;
+    }
+    int originalScore = search.countCardOnGrid(player.getColorType());
+
     // Iterate through each card in player's hand
     for (int i = 0; i < player.getHand().size(); i++) {
-      // Create a copy of the game customer.provider.model to simulate the move
-      ThreeTriosModel copyModel = model.copyGameModel();
-
-      // Determine the corresponding copied player in copyModel
-      Player copyPlayer;
-      if (player.getColor().equals(model.getPlayerA().getColor())) {
-        copyPlayer = (Player) copyModel.getPlayerA();
-      } else if (player.getColor().equals(model.getPlayerB().getColor())) {
-        copyPlayer = (Player) copyModel.getPlayerB();
-      } else {
-        throw new IllegalArgumentException("Unknown player color: " + player.getColor());
-      }
-
-      // Ensure the copied player's hand has enough cards
-      if (i >= copyPlayer.getHand().size()) {
-        System.err.println("Copied player's hand does not have index " + i);
-        continue; // Skip this card
-      }
-
+      // Simulate the move on the copy, it is undone right after being evaluated
+      search.applyMove(i, row, col, player);
+      int scoreEarned;
       try {
-        // Play the card on the copied customer.provider.model
-        copyModel.playToGrid(i, col, row, copyPlayer);
-      } catch (IllegalStateException e) {
-        // Handle the case where the copied player's hand does not have the card at index i
-        System.err.println("Attempted to access card index " + i + " in copied player's " +
-                "hand of size " + copyPlayer.getHand().size());
-        continue; // Skip this card
+        scoreEarned = search.countCardOnGrid(player.getColorType()) - originalScore;
+      } finally {
+        search.undoMove();
       }
-
-      copyModel.battle(player.getHand().get(i), col, row, player.getColor());
-      int scoreEarned = copyModel.countCardOnGrid(player.getColor()) -
-              model.countCardOnGrid(player.getColor());
       if (isCorner(col, row)) {
         scoreEarned += 1;
       }
       int flippedProb = this.getBeFlippedProbability(player.getHand().get(i), col, row);
-      Move currentMove = new Move(new Point(col, row), i, scoreEarned, flippedProb);
+      Move currentMove = new Move(new Point(row, col), i, scoreEarned, flippedProb);
 
       if (bestMoveAtCorner == null || currentMove.compareTo(bestMoveAtCorner) > 0) {
         bestMoveAtCorner = currentMove;
@@ -0,0 +1,48 @@
+package customer.strategiccomputerplayer;
+
+import customer.gamefeatures.IPlayer;
+import customer.model.ThreeTriosModel;
+
+/**
+ * Solves the rest of the game exactly once only a few empty cells are left. The game is
+ * searched to the end with alpha-beta, every position is remembered in a transposition table
+ * keyed on the position hash, and the moves winning the most cards right away are tried first.
+ * The move found is optimal for the player, and its score is the final margin of the game,
+ * the player's cards on the grid minus the opponent's, when both players play perfectly.
+ */
+public class EndgameSolver {
+  private static final int TABLE_SIZE = 1 << 14;
+
+  private final ThreeTriosModel model;
+  private final TranspositionTable table;
+
+  /**
+   * Constructor for EndgameSolver.
+   *
+   * @param model The current game customer.provider.model.
+   */
+  public EndgameSolver(ThreeTriosModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("The model cannot be null.");
+    }
+    this.model = model;
+    this.table = new TranspositionTable(TABLE_SIZE);
+  }
+
+  /**
+   * Find the optimal move for the given player by searching to the end of the game.
+   *
+   * @param player The player for this round.
+   * @return The optimal move, whose score is the final margin of the game for the player.
+   */
+  public Move solve(IPlayer player) {
+    int remaining = this.model.getGameGrid().getCells();
+    if (remaining == 0) {
+      throw new IllegalStateException("No available positions to play for the player.");
+    }
+    // one move per empty cell is left, so this depth always reaches the end of the game
+    AlphaBetaStrategy search = new AlphaBetaStrategy(this.model, remaining, this.table);
+    search.setEndgameThreshold(0);
+    return search.getBestMove(player);
+  }
+}
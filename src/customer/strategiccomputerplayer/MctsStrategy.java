@@ -0,0 +1,330 @@
+package customer.strategiccomputerplayer;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import customer.gamefeatures.Card;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.IPlayer;
+import customer.model.ThreeTriosModel;
+
+/**
+ * Implements Monte Carlo Tree Search for the AI. Every playout walks down the search tree
+ * picking moves with UCT, adds one new move to the tree, and then plays the game to the end
+ * with the playout policy. The result of the game is counted for every move on the way,
+ * and the move of the player tried the most in the end is the best move.
+ * The model is copied once per decision, and every playout is played on that copy with
+ * applyMove and taken back with undoMove, reusing the same move buffer.
+ */
+public class MctsStrategy extends AbstractStrategy implements AnytimeStrategy {
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  private final int playouts;
+  private final long timeBudgetMillis;
+  private final PlayoutPolicy policy;
+  private final Random random;
+  // the legal moves of a position as card index * cell number + cell, reused by every playout
+  private int[] moveBuffer;
+
+  /**
+   * Constructor for MctsStrategy with only a playout budget.
+   *
+   * @param model    The current game customer.provider.model.
+   * @param playouts The number of playouts for every decision, at least 1.
+   * @param policy   How the moves of a playout are picked.
+   * @param random   The random object used for the playouts.
+   */
+  public MctsStrategy(ThreeTriosModel model, int playouts, PlayoutPolicy policy, Random random) {
+    this(model, playouts, 0, policy, random);
+  }
+
+  /**
+   * Constructor for MctsStrategy. The search stops at whichever of the budgets runs out first.
+   *
+   * @param model            The current game customer.provider.model.
+   * @param playouts         The largest number of playouts for every decision, at least 1.
+   * @param timeBudgetMillis The longest time for every decision in milliseconds,
+   *                         0 or less for no time limit.
+   * @param policy           How the moves of a playout are picked.
+   * @param random           The random object used for the playouts.
+   */
+  public MctsStrategy(ThreeTriosModel model, int playouts, long timeBudgetMillis,
+                      PlayoutPolicy policy, Random random) {
+    super(model);
+    if (playouts < 1) {
+      throw new IllegalArgumentException("The number of playouts should be at least 1.");
+    }
+    if (policy == null) {
+      throw new IllegalArgumentException("The playout policy cannot be null.");
+    }
+    this.playouts = playouts;
+    this.timeBudgetMillis = timeBudgetMillis;
+    this.policy = policy;
+    this.random = random == null ? new Random() : random;
+  }
+
+  @Override
+  public Move getBestMove(IPlayer player) {
+    return getBestMove(player, Long.MAX_VALUE);
+  }
+
+  @Override
+  public Move getBestMove(IPlayer player, long deadline) {
+    List<Card> hand = player.getHand();
+    if (hand == null || hand.isEmpty()) {
+      throw new IllegalStateException("Player's hand is empty, no cards to play.");
+    }
+    if (model.getGameGrid().nextOpenCell(0) < 0) {
+      throw new IllegalStateException("No available positions to play for the player.");
+    }
+    Move booked = playFromBook(player);
+    if (booked != null) {
+      return booked;
+    }
+    Move solved = solveEndgame(player);
+    if (solved != null) {
+      return solved;
+    }
+    ThreeTriosModel copy = model.copyGameModel();
+    IGameGrid grid = copy.getGameGrid();
+    int size = grid.getRow() * grid.getCol();
+    int handSize = Math.max(copy.getPlayerA().getHand().size(),
+            copy.getPlayerB().getHand().size());
+    this.moveBuffer = new int[handSize * size];
+
+    ColorType rootColor = player.getColorType();
+    Node root = new Node(-1, null, rootColor.reverse());
+    root.setUntried(legalMoves(copy, rootColor));
+    if (this.timeBudgetMillis > 0) {
+      deadline = Math.min(deadline, System.nanoTime() + this.timeBudgetMillis * 1_000_000L);
+    }
+
+    int done = 0;
+    do {
+      playout(copy, root, rootColor);
+      done += 1;
+    } while (done < this.playouts && System.nanoTime() < deadline);
+
+    // the move tried the most, the first one found if there is a tie
+    Node best = null;
+    for (Node child : root.children) {
+      if (best == null || child.visits > best.visits) {
+        best = child;
+      }
+    }
+    int cardIdx = best.move / size;
+    int row = (best.move % size) / grid.getCol();
+    int col = (best.move % size) % grid.getCol();
+    int winRate = (int) Math.round(100 * best.wins / best.visits);
+    return new Move(new Point(row, col), cardIdx, winRate,
+            this.getBeFlippedProbability(hand.get(cardIdx), col, row));
+  }
+
+  /**
+   * Run a single playout from the root, and take back every move of it afterwards.
+   *
+   * @param copy      The copy of the model the playout is played on.
+   * @param root      The root of the search tree.
+   * @param rootColor The color of the player to move at the root.
+   */
+  private void playout(ThreeTriosModel copy, Node root, ColorType rootColor) {
+    Node node = root;
+    ColorType toMove = rootColor;
+    int applied = 0;
+
+    // selection, follow the tree while every move of the node has been tried
+    while (node.untriedCount == 0 && !node.children.isEmpty()) {
+      node = select(node);
+      play(copy, node.move, toMove);
+      applied += 1;
+      toMove = toMove.reverse();
+    }
+
+    // expansion, add one move that has not been tried
+    if (node.untriedCount > 0) {
+      int move = node.takeUntried(this.random);
+      play(copy, move, toMove);
+      applied += 1;
+      Node child = new Node(move, node, toMove);
+      toMove = toMove.reverse();
+      child.setUntried(isTerminal(copy, toMove) ? new int[0] : legalMoves(copy, toMove));
+      node.children.add(child);
+      node = child;
+    }
+
+    // simulation, play the game to the end
+    while (!isTerminal(copy, toMove)) {
+      play(copy, pickPlayoutMove(copy, toMove), toMove);
+      applied += 1;
+      toMove = toMove.reverse();
+    }
+    double redResult = result(copy);
+    for (int i = 0; i < applied; i += 1) {
+      copy.undoMove();
+    }
+
+    // backpropagation, every node is counted for the player who made its move
+    for (Node current = node; current != null; current = current.parent) {
+      current.visits += 1;
+      current.wins += current.mover == ColorType.RED ? redResult : 1 - redResult;
+    }
+  }
+
+  /**
+   * Pick the child of the node with the highest UCT value.
+   *
+   * @param node The node whose moves have all been tried.
+   * @return The child to follow.
+   */
+  private Node select(Node node) {
+    double logVisits = Math.log(node.visits);
+    Node best = null;
+    double bestValue = Double.NEGATIVE_INFINITY;
+    for (Node child : node.children) {
+      double value = child.wins / child.visits
+              + EXPLORATION * Math.sqrt(logVisits / child.visits);
+      if (value > bestValue) {
+        bestValue = value;
+        best = child;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Pick a move of the playout with the playout policy.
+   *
+   * @param copy  The copy of the model.
+   * @param color The color of the player to move.
+   * @return The move picked.
+   */
+  private int pickPlayoutMove(ThreeTriosModel copy, ColorType color) {
+    int count = fillMoveBuffer(copy, color);
+    if (this.policy == PlayoutPolicy.RANDOM) {
+      return this.moveBuffer[this.random.nextInt(count)];
+    }
+    IPlayer mover = playerOf(copy, color);
+    int size = copy.getGameGrid().getRow() * copy.getGameGrid().getCol();
+    int cols = copy.getGameGrid().getCol();
+    int best = -1;
+    int bestScore = -1;
+    int ties = 0;
+    for (int i = 0; i < count; i += 1) {
+      int move = this.moveBuffer[i];
+      copy.applyMove(move / size, (move % size) / cols, (move % size) % cols, mover);
+      int score = copy.countCardOnGrid(color);
+      copy.undoMove();
+      // moves winning the same number of cards are picked at random
+      if (score > bestScore) {
+        bestScore = score;
+        best = move;
+        ties = 1;
+      } else if (score == bestScore) {
+        ties += 1;
+        if (this.random.nextInt(ties) == 0) {
+          best = move;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Write the legal moves of the player into the move buffer.
+   *
+   * @param copy  The copy of the model.
+   * @param color The color of the player to move.
+   * @return The number of legal moves.
+   */
+  private int fillMoveBuffer(ThreeTriosModel copy, ColorType color) {
+    IGameGrid grid = copy.getGameGrid();
+    int size = grid.getRow() * grid.getCol();
+    int handSize = playerOf(copy, color).getHand().size();
+    int count = 0;
+    for (int i = 0; i < handSize; i += 1) {
+      for (int cell = grid.nextOpenCell(0); cell >= 0; cell = grid.nextOpenCell(cell + 1)) {
+        this.moveBuffer[count] = i * size + cell;
+        count += 1;
+      }
+    }
+    return count;
+  }
+
+  private int[] legalMoves(ThreeTriosModel copy, ColorType color) {
+    return Arrays.copyOf(this.moveBuffer, fillMoveBuffer(copy, color));
+  }
+
+  private void play(ThreeTriosModel copy, int move, ColorType color) {
+    int size = copy.getGameGrid().getRow() * copy.getGameGrid().getCol();
+    int cols = copy.getGameGrid().getCol();
+    copy.applyMove(move / size, (move % size) / cols, (move % size) % cols,
+            playerOf(copy, color));
+  }
+
+  private boolean isTerminal(ThreeTriosModel copy, ColorType toMove) {
+    return copy.isOver() || playerOf(copy, toMove).getHand().isEmpty();
+  }
+
+  /**
+   * The result of the game for the red player.
+   *
+   * @param copy The copy of the model at the end of a playout.
+   * @return 1 if red wins, 0.5 for a tie, 0 if blue wins.
+   */
+  private double result(ThreeTriosModel copy) {
+    int red = copy.countCardOnGrid(ColorType.RED);
+    int blue = copy.countCardOnGrid(ColorType.BLUE);
+    if (red > blue) {
+      return 1;
+    } else if (red == blue) {
+      return 0.5;
+    }
+    return 0;
+  }
+
+  private IPlayer playerOf(ThreeTriosModel copy, ColorType color) {
+    return color == ColorType.RED ? copy.getPlayerA() : copy.getPlayerB();
+  }
+
+  /**
+   * A position in the search tree, reached by playing its move from the parent position.
+   */
+  private static final class Node {
+    private final int move;
+    private final Node parent;
+    // the color of the player who made the move of this node
+    private final ColorType mover;
+    private final List<Node> children;
+    private int[] untried;
+    private int untriedCount;
+    private int visits;
+    private double wins;
+
+    Node(int move, Node parent, ColorType mover) {
+      this.move = move;
+      this.parent = parent;
+      this.mover = mover;
+      this.children = new ArrayList<>();
+    }
+
+    void setUntried(int[] moves) {
+      this.untried = moves;
+      this.untriedCount = moves.length;
+    }
+
+    /**
+     * Take a random move that has not been tried out of this node.
+     */
+    int takeUntried(Random random) {
+      int idx = random.nextInt(this.untriedCount);
+      int move = this.untried[idx];
+      this.untriedCount -= 1;
+      this.untried[idx] = this.untried[this.untriedCount];
+      return move;
+    }
+  }
+}
@@ -0,0 +1,199 @@
+package customer.strategiccomputerplayer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import customer.gamefeatures.BattleType;
+import customer.gamefeatures.Card;
+import customer.gamefeatures.ModType;
+
+/**
+ * A book of the best moves of opening positions, found by deep searches before the game.
+ * Positions are keyed by their canonical hash, see ThreeTriosModel.getCanonicalHash, and
+ * every move is kept turned by the canonical symmetry of its position, as the card key of
+ * the turned card and its cell, row * col number + col. The hash covers the cards in both
+ * hands, so a book only ever answers for the grid and card files it was generated with.
+ * The hash does not cover the battle rules of the cards, so the book keeps the battle type and
+ * modification type it was generated with, and only answers for cards played with them.
+ * The file is binary: a magic number, the battle type and modification type ordinals,
+ * the number of entries, and then every entry as the hash, the card key, the cell and
+ * the score.
+ */
+public class OpeningBook {
+  private static final int MAGIC = 0x33545243;
+
+  private final BattleType battleType;
+  private final ModType modType;
+  private final Map<Long, Entry> entries;
+
+  /**
+   * Constructor for an empty OpeningBook of the normal battle rules.
+   */
+  public OpeningBook() {
+    this(null, null);
+  }
+
+  /**
+   * Constructor for an empty OpeningBook of the given battle rules. A battle type or
+   * modification type that is not set is the same as the normal one.
+   *
+   * @param battleType The battle mode, could be null.
+   * @param modType    The modification add-on to the battle mode, could be null.
+   */
+  public OpeningBook(BattleType battleType, ModType modType) {
+    this.battleType = battleType == null ? BattleType.NORMAL : battleType;
+    this.modType = modType == null ? ModType.NORMAL : modType;
+    this.entries = new HashMap<>();
+  }
+
+  /**
+   * Read an opening book from the given file, which must have been generated with
+   * the given battle rules.
+   *
+   * @param filePath   File path in String.
+   * @param battleType The battle mode of the game, could be null.
+   * @param modType    The modification add-on to the battle mode, could be null.
+   * @return The opening book.
+   * @throws IllegalArgumentException if the file is not an opening book or the book was
+   *                                  generated with other battle rules.
+   */
+  public static OpeningBook load(String filePath, BattleType battleType, ModType modType) {
+    OpeningBook book = new OpeningBook(battleType, modType);
+    try (DataInputStream in = new DataInputStream(
+            new BufferedInputStream(new FileInputStream(filePath)))) {
+      if (in.readInt() != MAGIC) {
+        throw new IllegalArgumentException("Not an opening book: " + filePath);
+      }
+      int bookBattleType = in.readInt();
+      int bookModType = in.readInt();
+      if (bookBattleType != book.battleType.ordinal() || bookModType != book.modType.ordinal()) {
+        throw new IllegalArgumentException("The opening book " + filePath
+                + " was not generated with the battle rules " + book.battleType + " "
+                + book.modType);
+      }
+      int count = in.readInt();
+      for (int i = 0; i < count; i += 1) {
+        book.put(in.readLong(), in.readLong(), in.readInt(), in.readInt());
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not read the opening book: " + filePath);
+    }
+    return book;
+  }
+
+  /**
+   * Write this opening book to the given file.
+   *
+   * @param filePath File path in String.
+   */
+  public void save(String filePath) {
+    try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(filePath)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(this.battleType.ordinal());
+      out.writeInt(this.modType.ordinal());
+      out.writeInt(this.entries.size());
+      for (Map.Entry<Long, Entry> entry : this.entries.entrySet()) {
+        out.writeLong(entry.getKey());
+        out.writeLong(entry.getValue().cardKey);
+        out.writeInt(entry.getValue().cell);
+        out.writeInt(entry.getValue().score);
+      }
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Could not write the opening book: " + filePath);
+    }
+  }
+
+  /**
+   * Add the best move of a position to the book, replacing the move there was.
+   *
+   * @param hash    The canonical hash of the position.
+   * @param cardKey The card key of the move turned by the canonical symmetry.
+   * @param cell    The cell of the move turned by the canonical symmetry.
+   * @param score   The score of the move.
+   */
+  public void put(long hash, long cardKey, int cell, int score) {
+    this.entries.put(hash, new Entry(cardKey, cell, score));
+  }
+
+  /**
+   * Look up the best move of a position.
+   *
+   * @param hash The canonical hash of the position.
+   * @return The entry of the position, or null if it is not in the book.
+   */
+  public Entry probe(long hash) {
+    return this.entries.get(hash);
+  }
+
+  /**
+   * Check whether the given card is played with the battle rules of this book.
+   *
+   * @param card The card.
+   * @return Whether the battle type and modification type of the card are the ones of the book.
+   */
+  public boolean isForRulesOf(Card card) {
+    BattleType cardBattleType = card.getBattleType() == null
+            ? BattleType.NORMAL : card.getBattleType();
+    ModType cardModType = card.getModType() == null ? ModType.NORMAL : card.getModType();
+    return cardBattleType == this.battleType && cardModType == this.modType;
+  }
+
+  /**
+   * Get the number of positions in the book.
+   *
+   * @return The number of positions.
+   */
+  public int size() {
+    return this.entries.size();
+  }
+
+  /**
+   * The best move of a position in the book.
+   */
+  public static final class Entry {
+    private final long cardKey;
+    private final int cell;
+    private final int score;
+
+    private Entry(long cardKey, int cell, int score) {
+      this.cardKey = cardKey;
+      this.cell = cell;
+      this.score = score;
+    }
+
+    /**
+     * Gets the card key of the move, turned by the canonical symmetry.
+     *
+     * @return The card key.
+     */
+    public long getCardKey() {
+      return this.cardKey;
+    }
+
+    /**
+     * Gets the cell of the move, turned by the canonical symmetry.
+     *
+     * @return The cell, row * col number + col.
+     */
+    public int getCell() {
+      return this.cell;
+    }
+
+    /**
+     * Gets the score of the move found by the search.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+      return this.score;
+    }
+  }
+}
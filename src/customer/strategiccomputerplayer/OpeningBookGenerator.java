@@ -0,0 +1,134 @@
+package customer.strategiccomputerplayer;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.IPlayer;
+import customer.model.GridSymmetry;
+import customer.model.ThreeTriosGameModel;
+import customer.model.ThreeTriosModel;
+
+/**
+ * Generates an opening book before the game by searching every position of the first few
+ * moves deeply with AlphaBetaStrategy. Positions that are the same up to a symmetry of
+ * the grid are searched once. Run it with the grid file, the card file and the file to write
+ * the book to, and optionally the number of moves the book covers and the search depth.
+ */
+public class OpeningBookGenerator {
+  /**
+   * The number of moves from the start of the game the book covers by default.
+   */
+  public static final int DEFAULT_PLIES = 2;
+  /**
+   * The number of moves every position is searched ahead by default.
+   */
+  public static final int DEFAULT_DEPTH = 4;
+
+  private final ThreeTriosModel model;
+  private final int plies;
+  private final int depth;
+  private final Set<Long> visited;
+
+  /**
+   * Constructor for OpeningBookGenerator.
+   *
+   * @param model The model of a game that has started, whose opening is searched.
+   * @param plies The number of moves from the current position the book covers, at least 1.
+   * @param depth The number of moves every position is searched ahead, at least 1.
+   */
+  public OpeningBookGenerator(ThreeTriosModel model, int plies, int depth) {
+    if (model == null) {
+      throw new IllegalArgumentException("The model cannot be null.");
+    }
+    if (plies < 1) {
+      throw new IllegalArgumentException("The book must cover at least one move.");
+    }
+    if (depth < 1) {
+      throw new IllegalArgumentException("The search depth should be at least 1.");
+    }
+    this.model = model;
+    this.plies = plies;
+    this.depth = depth;
+    this.visited = new HashSet<>();
+  }
+
+  /**
+   * Search every position of the opening and put the best move of each in a book.
+   * The positions are played on a copy of the model, so the model is never changed.
+   * The book is for the battle rules of the cards in the hands.
+   *
+   * @return The opening book.
+   */
+  public OpeningBook generate() {
+    ThreeTriosModel position = this.model.copyGameModel();
+    IPlayer first = position.getPlayerA().getHand().isEmpty()
+            ? position.getPlayerB() : position.getPlayerA();
+    OpeningBook book = first.getHand().isEmpty() ? new OpeningBook()
+            : new OpeningBook(first.getHand().get(0).getBattleType(),
+            first.getHand().get(0).getModType());
+    this.visited.clear();
+    visit(book, 0, position, new AlphaBetaStrategy(position, this.depth));
+    return book;
+  }
+
+  /**
+   * Search the current position, then every position one move after it.
+   *
+   * @param book     The book to put the moves in.
+   * @param ply      The number of moves played since the start of the opening.
+   * @param position The copy of the model the moves are played on.
+   * @param search   The search on the copy.
+   */
+  private void visit(OpeningBook book, int ply, ThreeTriosModel position,
+                     AlphaBetaStrategy search) {
+    IGameGrid grid = position.getGameGrid();
+    IPlayer mover = position.getCurrentPlayer().equals("RED")
+            ? position.getPlayerA() : position.getPlayerB();
+    if (ply >= this.plies || position.isOver() || mover.getHand().isEmpty()
+            || !this.visited.add(position.getCanonicalHash())) {
+      return;
+    }
+    Move best = search.getBestMove(mover);
+    int symmetry = position.getCanonicalSymmetry();
+    GridSymmetry symmetries = position.getSymmetry();
+    int cell = best.getPosition().x * grid.getCol() + best.getPosition().y;
+    book.put(position.getCanonicalHash(),
+            symmetries.cardKey(symmetry, mover.getHand().get(best.getCardIdx())),
+            symmetries.mapCell(symmetry, cell), best.getScore());
+
+    for (int i = 0; i < mover.getHand().size(); i += 1) {
+      for (int open = grid.nextOpenCell(0); open >= 0; open = grid.nextOpenCell(open + 1)) {
+        position.applyMove(i, open / grid.getCol(), open % grid.getCol(), mover);
+        try {
+          visit(book, ply + 1, position, search);
+        } finally {
+          position.undoMove();
+        }
+      }
+    }
+  }
+
+  /**
+   * Generates an opening book and writes it to a file.
+   *
+   * @param args The grid file, the card file, the book file to write, and optionally
+   *             the number of moves the book covers and the search depth.
+   */
+  public static void main(String[] args) {
+    if (args.length < 3 || args.length > 5) {
+      System.out.println("Usage: OpeningBookGenerator <grid file> <card file> <book file> "
+              + "[plies] [depth]");
+      return;
+    }
+    int plies = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_PLIES;
+    int depth = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_DEPTH;
+    ThreeTriosModel model = new ThreeTriosGameModel();
+    model.startGame(args[0], args[1], false);
+    long start = System.nanoTime();
+    OpeningBook book = new OpeningBookGenerator(model, plies, depth).generate();
+    book.save(args[2]);
+    System.out.println("Wrote " + book.size() + " positions to " + args[2] + " in "
+            + (System.nanoTime() - start) / 1_000_000 + " ms.");
+  }
+}
@@ -0,0 +1,155 @@
+package customer.strategiccomputerplayer;
+
+import java.awt.Point;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import customer.gamefeatures.Card;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.IPlayer;
+import customer.model.ThreeTriosModel;
+
+/**
+ * Implements the same card selection as MaxFlipStrategy, but splits the (card, cell) pairs
+ * across the workers of a ForkJoinPool. Every worker plays its pairs on its own copy of
+ * the model, and the moves found are reduced with Move.compareTo, which is a total order,
+ * so the move picked does not depend on how the work was split.
+ * The model must not be changed while getBestMove is running.
+ */
+public class ParallelMaxFlipStrategy extends AbstractStrategy {
+  // the number of (card, cell) pairs a single task evaluates without splitting
+  private static final int THRESHOLD = 16;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Constructor for ParallelMaxFlipStrategy using the common ForkJoinPool.
+   *
+   * @param model The current game customer.provider.model.
+   */
+  public ParallelMaxFlipStrategy(ThreeTriosModel model) {
+    this(model, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructor for ParallelMaxFlipStrategy.
+   *
+   * @param model The current game customer.provider.model.
+   * @param pool  The pool to run the evaluation on.
+   */
+  public ParallelMaxFlipStrategy(ThreeTriosModel model, ForkJoinPool pool) {
+    super(model);
+    if (pool == null) {
+      throw new IllegalArgumentException("The pool cannot be null.");
+    }
+    this.pool = pool;
+  }
+
+  @Override
+  public Move getBestMove(IPlayer player) {
+    List<Card> hand = player.getHand();
+    if (hand == null || hand.isEmpty()) {
+      throw new IllegalStateException("Player's hand is empty, no cards to play.");
+    }
+    Move booked = playFromBook(player);
+    if (booked != null) {
+      return booked;
+    }
+    Move solved = solveEndgame(player);
+    if (solved != null) {
+      return solved;
+    }
+    IGameGrid grid = model.getGameGrid();
+    int size = grid.getRow() * grid.getCol();
+    int[] candidates = new int[hand.size() * grid.getCells()];
+    int count = 0;
+    for (int i = 0; i < hand.size(); i += 1) {
+      for (int cell = grid.nextOpenCell(0); cell >= 0; cell = grid.nextOpenCell(cell + 1)) {
+        candidates[count] = i * size + cell;
+        count += 1;
+      }
+    }
+    if (count == 0) {
+      throw new IllegalStateException("No available positions to play for the player.");
+    }
+    int originalScore = model.countCardOnGrid(player.getColorType());
+    return this.pool.invoke(new EvaluateTask(candidates, 0, count, player.getColorType(),
+            originalScore));
+  }
+
+  /**
+   * Pick the better one of two moves in the same way as MaxFlipStrategy does.
+   *
+   * @param first  A move, could be null.
+   * @param second Another move, could be null.
+   * @return The better move.
+   */
+  private static Move better(Move first, Move second) {
+    if (first == null) {
+      return second;
+    }
+    if (second == null || first.compareTo(second) >= 0) {
+      return first;
+    }
+    return second;
+  }
+
+  /**
+   * Evaluates a range of the (card, cell) pairs, splitting it in half while it is too large.
+   */
+  private class EvaluateTask extends RecursiveTask<Move> {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] candidates;
+    private final int from;
+    private final int to;
+    private final ColorType color;
+    private final int originalScore;
+
+    EvaluateTask(int[] candidates, int from, int to, ColorType color, int originalScore) {
+      this.candidates = candidates;
+      this.from = from;
+      this.to = to;
+      this.color = color;
+      this.originalScore = originalScore;
+    }
+
+    @Override
+    protected Move compute() {
+      if (this.to - this.from > THRESHOLD) {
+        int middle = (this.from + this.to) >>> 1;
+        EvaluateTask left = new EvaluateTask(this.candidates, this.from, middle, this.color,
+                this.originalScore);
+        EvaluateTask right = new EvaluateTask(this.candidates, middle, this.to, this.color,
+                this.originalScore);
+        left.fork();
+        Move rightMove = right.compute();
+        return better(left.join(), rightMove);
+      }
+
+      // only read from the shared model, the moves are played on a copy
+      ThreeTriosModel copy = model.copyGameModel();
+      IPlayer mover = this.color == ColorType.RED ? copy.getPlayerA() : copy.getPlayerB();
+      int size = copy.getGameGrid().getRow() * copy.getGameGrid().getCol();
+      int cols = copy.getGameGrid().getCol();
+      Move best = null;
+      for (int i = this.from; i < this.to; i += 1) {
+        int cardIdx = this.candidates[i] / size;
+        int row = (this.candidates[i] % size) / cols;
+        int col = (this.candidates[i] % size) % cols;
+        Card card = mover.getHand().get(cardIdx);
+        copy.applyMove(cardIdx, row, col, mover);
+        int scoreEarned = copy.countCardOnGrid(this.color) - this.originalScore;
+        copy.undoMove();
+        if (isCorner(col, row)) {
+          scoreEarned += 1;
+        }
+        int flippedProb = getBeFlippedProbability(card, col, row);
+        best = better(best, new Move(new Point(row, col), cardIdx, scoreEarned, flippedProb));
+      }
+      return best;
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package customer.strategiccomputerplayer;
+
+/**
+ * PlayoutPolicy is how the moves of a Monte Carlo playout are picked once the search tree
+ * is left, either any card to any empty cell at random, or greedily the move winning
+ * the most cards right away like MaxFlipStrategy.
+ */
+public enum PlayoutPolicy {
+  RANDOM,
+  GREEDY
+}
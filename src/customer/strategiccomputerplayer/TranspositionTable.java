@@ -0,0 +1,159 @@
+package customer.strategiccomputerplayer;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size table of search results keyed on the position hash of the model.
+ * Every hash has a single slot, and an entry only replaces the entry in its slot
+ * if it was searched at least as deep, or if the old entry is from an earlier search.
+ * The table could be shared between strategies, so every access is synchronized.
+ */
+public class TranspositionTable {
+  /**
+   * The value stored is the exact value of the position.
+   */
+  public static final int EXACT = 0;
+  /**
+   * The search failed high, the value of the position is at least the value stored.
+   */
+  public static final int LOWER = 1;
+  /**
+   * The search failed low, the value of the position is at most the value stored.
+   */
+  public static final int UPPER = 2;
+
+  private final Entry[] entries;
+  private final int mask;
+  private int generation;
+
+  /**
+   * Constructor for TranspositionTable.
+   *
+   * @param size The number of slots, rounded down to a power of two.
+   */
+  public TranspositionTable(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("The size of the table should be positive.");
+    }
+    int slots = Integer.highestOneBit(size);
+    this.entries = new Entry[slots];
+    this.mask = slots - 1;
+    this.generation = 0;
+  }
+
+  /**
+   * Start a new search, the entries of the earlier searches could be replaced by any entry.
+   */
+  public synchronized void newSearch() {
+    this.generation += 1;
+  }
+
+  /**
+   * Get the entry of the given position.
+   *
+   * @param hash The position hash.
+   * @return The entry of the position, or null if it is not in the table.
+   */
+  public synchronized Entry probe(long hash) {
+    Entry entry = this.entries[(int) hash & this.mask];
+    if (entry != null && entry.hash == hash) {
+      return entry;
+    }
+    return null;
+  }
+
+  /**
+   * Store the search result of a position.
+   *
+   * @param hash     The position hash.
+   * @param depth    The depth the position was searched to.
+   * @param value    The value of the position for the player to move.
+   * @param bound    Whether the value is EXACT, a LOWER bound or an UPPER bound.
+   * @param cardKey  The card key of the best move found, see ZobristKeys.
+   * @param cell     The cell of the best move found, row * col number + col, -1 if none.
+   */
+  public synchronized void store(long hash, int depth, int value, int bound,
+                                 long cardKey, int cell) {
+    int slot = (int) hash & this.mask;
+    Entry old = this.entries[slot];
+    if (old == null || old.generation != this.generation || depth >= old.depth) {
+      this.entries[slot] = new Entry(hash, depth, value, bound, cardKey, cell, this.generation);
+    }
+  }
+
+  /**
+   * Remove every entry from the table.
+   */
+  public synchronized void clear() {
+    Arrays.fill(this.entries, null);
+  }
+
+  /**
+   * A search result stored in the table.
+   */
+  public static final class Entry {
+    private final long hash;
+    private final int depth;
+    private final int value;
+    private final int bound;
+    private final long cardKey;
+    private final int cell;
+    private final int generation;
+
+    private Entry(long hash, int depth, int value, int bound, long cardKey, int cell,
+                  int generation) {
+      this.hash = hash;
+      this.depth = depth;
+      this.value = value;
+      this.bound = bound;
+      this.cardKey = cardKey;
+      this.cell = cell;
+      this.generation = generation;
+    }
+
+    /**
+     * Gets the depth the position was searched to.
+     *
+     * @return The search depth.
+     */
+    public int getDepth() {
+      return depth;
+    }
+
+    /**
+     * Gets the value of the position for the player to move.
+     *
+     * @return The value stored.
+     */
+    public int getValue() {
+      return value;
+    }
+
+    /**
+     * Gets whether the value is EXACT, a LOWER bound or an UPPER bound.
+     *
+     * @return The bound of the value.
+     */
+    public int getBound() {
+      return bound;
+    }
+
+    /**
+     * Gets the card key of the best move found in this position.
+     *
+     * @return The card key of the best move.
+     */
+    public long getCardKey() {
+      return cardKey;
+    }
+
+    /**
+     * Gets the cell of the best move found in this position.
+     *
+     * @return The cell of the best move, row * col number + col, -1 if there is none.
+     */
+    public int getCell() {
+      return cell;
+    }
+  }
+}
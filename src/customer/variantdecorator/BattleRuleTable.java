@@ -0,0 +1,101 @@
+package customer.variantdecorator;
+
+import customer.gamefeatures.BattleType;
+import customer.gamefeatures.ModType;
+
+/**
+ * The battle decorators of a battle type and a modification type compiled into a win table.
+ * Attack values are between 0 and 10, so every result of the decorator chain is worked out once
+ * when the table is built, and a battle only needs an array lookup afterwards.
+ */
+public final class BattleRuleTable {
+  private static final int VALUES = 11;
+  // every table, indexed by [battle type ordinal][modification type ordinal]
+  private static final BattleRuleTable[][] TABLES = buildAllTables();
+
+  private final boolean[] wins;
+
+  /**
+   * Constructor that runs the decorator chain of the given battle mode for every pair of
+   * attack values.
+   *
+   * @param battleType The battle mode.
+   * @param modType    The modification add-on to the battle mode.
+   */
+  private BattleRuleTable(BattleType battleType, ModType modType) {
+    this.wins = new boolean[VALUES * VALUES];
+    for (int num1 = 0; num1 < VALUES; num1 += 1) {
+      for (int num2 = 0; num2 < VALUES; num2 += 1) {
+        this.wins[num1 * VALUES + num2] = decorate(battleType, modType, num1, num2).compareCard();
+      }
+    }
+  }
+
+  /**
+   * Get the win table of the given battle mode. A battle type or modification type that
+   * is not set is the same as the normal one.
+   *
+   * @param battleType The battle mode, could be null.
+   * @param modType    The modification add-on to the battle mode, could be null.
+   * @return The win table of this battle mode.
+   */
+  public static BattleRuleTable forRules(BattleType battleType, ModType modType) {
+    if (battleType == null) {
+      battleType = BattleType.NORMAL;
+    }
+    if (modType == null) {
+      modType = ModType.NORMAL;
+    }
+    return TABLES[battleType.ordinal()][modType.ordinal()];
+  }
+
+  /**
+   * Check whether the attacking number wins against the defending number.
+   *
+   * @param num1 The number of the attacking card, facing the defending card.
+   * @param num2 The number of the defending card, facing the attacking card.
+   * @return Whether the attacking card wins.
+   */
+  public boolean beats(int num1, int num2) {
+    return this.wins[num1 * VALUES + num2];
+  }
+
+  /**
+   * Build the decorator chain of the given battle mode comparing the two numbers.
+   *
+   * @param battleType The battle mode.
+   * @param modType    The modification add-on to the battle mode.
+   * @param num1       The number of the attacking card.
+   * @param num2       The number of the defending card.
+   * @return The decorator chain.
+   */
+  private static IVariant decorate(BattleType battleType, ModType modType, int num1, int num2) {
+    IVariant battleDec = new NormalBattleDecorator(num1, num2);
+
+    // battle type part
+    if (battleType == BattleType.REVERSE) {
+      battleDec = new ReverseBattleDecorator(battleDec);
+    } else if (battleType == BattleType.ACE) {
+      battleDec = new FallenAceDecorator(battleDec, num1, num2);
+    } else if (battleType == BattleType.REVERSEANDACE) {
+      battleDec = new ReverseBattleDecorator(new FallenAceDecorator(battleDec, num1, num2));
+    }
+
+    // modification add-on part
+    if (modType == ModType.SAME) {
+      battleDec = new SameDecorator(battleDec, num1, num2);
+    }
+    return battleDec;
+  }
+
+  private static BattleRuleTable[][] buildAllTables() {
+    BattleRuleTable[][] tables =
+            new BattleRuleTable[BattleType.values().length][ModType.values().length];
+    for (BattleType battleType : BattleType.values()) {
+      for (ModType modType : ModType.values()) {
+        tables[battleType.ordinal()][modType.ordinal()] = new BattleRuleTable(battleType, modType);
+      }
+    }
+    return tables;
+  }
+}
@@ -13,6 +13,7 @@ import customer.controller.Controller;
 import customer.gamefeatures.BattleType;
 import customer.gamefeatures.Card;
 import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.IPlayer;
 import customer.gamefeatures.ModType;
 import customer.model.ThreeTriosModel;
 
@@ -27,6 +28,7 @@ public class GridPanel extends JPanel {
   private final ThreeTriosModel model;
   private final BattleType battleType;
   private final ModType modType;
+  private final HintCalculator hintCalculator;
 
   /**
    * Constructor for GridPanel.
@@ -43,6 +45,7 @@ public class GridPanel extends JPanel {
     this.model = model;
     this.battleType = battleType;
     this.modType = modType;
+    this.hintCalculator = new HintCalculator(model);
     setLayout(new GridLayout(gameGrid.getRow(), gameGrid.getCol(), 0, 0));
     initializeGrid();
   }
@@ -73,6 +76,21 @@ public class GridPanel extends JPanel {
       hintCardIndex = controller.hintTime(false, false);
     }
 
+    // the hints of every empty cell are worked out at once in the background,
+    // and the grid is drawn again without them until they are ready
+    int[][] flipCounts = null;
+    if (hintCardIndex != -1) {
+      IPlayer hintPlayer;
+      if (model.getCurrentPlayer().equalsIgnoreCase("red")) {
+        hintPlayer = model.getPlayerA();
+      } else if (model.getCurrentPlayer().equalsIgnoreCase("blue")) {
+        hintPlayer = model.getPlayerB();
+      } else {
+        throw new IllegalArgumentException("This player doesn't exist in the model.");
+      }
+      flipCounts = hintCalculator.request(hintCardIndex, hintPlayer, this::initializeGrid);
+    }
+
     Card[][] cardInGrid = gameGrid.getGrid();
     int rows = gameGrid.getRow();
     int cols = gameGrid.getCol();
@@ -82,16 +100,8 @@ public class GridPanel extends JPanel {
         Card card = cardInGrid[row][col];
         //should show the hint on the grid cell
         String cardHintText = "";
-        if (hintCardIndex != -1 && card != null && card.getName().equals("C")) {
-          if (model.getCurrentPlayer().equalsIgnoreCase("red")) {
-            cardHintText = "" + model.getNumCardsCanFlip(hintCardIndex, row, col,
-                    model.getPlayerA());
-          } else if (model.getCurrentPlayer().equalsIgnoreCase("blue")) {
-            cardHintText = "" + model.getNumCardsCanFlip(hintCardIndex, row, col,
-                    model.getPlayerB());
-          } else {
-            throw new IllegalArgumentException("This player doesn't exist in the model.");
-          }
+        if (flipCounts != null && card != null && card.getName().equals("C")) {
+          cardHintText = "" + flipCounts[row][col];
         }
         if (card != null) {
           card.setBattleType(battleType);
@@ -0,0 +1,129 @@
+package customer.view;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.swing.SwingUtilities;
+
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.IPlayer;
+import customer.model.ThreeTriosModel;
+
+/**
+ * Works out the hints of the grid, the number of cards a selected card flips on every empty
+ * cell, on a background thread instead of the event dispatch thread. A request copies the
+ * model and hands the copy to the background thread, so the model is only read on the event
+ * dispatch thread. A new request cancels the one before it if that has not started yet, and
+ * the hints are posted back with SwingUtilities.invokeLater.
+ * The hints found are cached by the selected card and the position hash of the model, which
+ * changes with every move, so the same hints are never worked out twice.
+ * Every method must be called on the event dispatch thread.
+ */
+public class HintCalculator {
+  // the number of hints kept, the least recently used ones are dropped first
+  private static final int CACHE_SIZE = 64;
+
+  private final ThreeTriosModel model;
+  private final ExecutorService executor;
+  private final Map<HintKey, int[][]> cache;
+  private HintKey pendingKey;
+  private Future<?> pending;
+
+  /**
+   * Constructor for HintCalculator.
+   *
+   * @param model The current game customer.provider.model.
+   */
+  public HintCalculator(ThreeTriosModel model) {
+    if (model == null) {
+      throw new IllegalArgumentException("The model cannot be null.");
+    }
+    this.model = model;
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "hint-calculator");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<HintKey, int[][]> eldest) {
+        return size() > CACHE_SIZE;
+      }
+    };
+  }
+
+  /**
+   * Get the hints of a card of the player to move, or start working them out.
+   *
+   * @param cardIdx The index of the selected card.
+   * @param player  The player to move.
+   * @param onReady Run on the event dispatch thread once the hints are in the cache,
+   *                if they are still the latest ones asked for.
+   * @return The number of cards flipped on every cell, indexed by row then col, -1 for
+   *         the cells the card cannot be played to, or null if they are not ready yet.
+   */
+  public int[][] request(int cardIdx, IPlayer player, Runnable onReady) {
+    HintKey key = new HintKey(cardIdx, player.getColorType(), this.model.getPositionHash());
+    int[][] hints = this.cache.get(key);
+    if (hints != null) {
+      return hints;
+    }
+    if (key.equals(this.pendingKey)) {
+      return null;
+    }
+    if (this.pending != null) {
+      // only stops a request that has not started, one that has is cached when done
+      this.pending.cancel(false);
+    }
+    ThreeTriosModel copy = this.model.copyGameModel();
+    IPlayer copyPlayer = player.getColorType() == ColorType.RED
+            ? copy.getPlayerA() : copy.getPlayerB();
+    this.pendingKey = key;
+    this.pending = this.executor.submit(() -> {
+      int[][] found = copy.getFlipCounts(cardIdx, copyPlayer);
+      SwingUtilities.invokeLater(() -> {
+        this.cache.put(key, found);
+        if (key.equals(this.pendingKey)) {
+          this.pendingKey = null;
+          this.pending = null;
+          onReady.run();
+        }
+      });
+    });
+    return null;
+  }
+
+  /**
+   * The selected card and the position the hints are for.
+   */
+  private static final class HintKey {
+    private final int cardIdx;
+    private final ColorType player;
+    private final long positionHash;
+
+    HintKey(int cardIdx, ColorType player, long positionHash) {
+      this.cardIdx = cardIdx;
+      this.player = player;
+      this.positionHash = positionHash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof HintKey)) {
+        return false;
+      }
+      HintKey that = (HintKey) other;
+      return this.cardIdx == that.cardIdx && this.player == that.player
+              && this.positionHash == that.positionHash;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(this.cardIdx, this.player, this.positionHash);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package battledecorator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import customer.gamefeatures.BattleType;
+import customer.gamefeatures.ModType;
+import customer.variantdecorator.BattleRuleTable;
+import customer.variantdecorator.FallenAceDecorator;
+import customer.variantdecorator.IVariant;
+import customer.variantdecorator.NormalBattleDecorator;
+import customer.variantdecorator.ReverseBattleDecorator;
+import customer.variantdecorator.SameDecorator;
+
+/**
+ * Class that tests the win tables compiled from the battle variant decorators.
+ */
+public class TestBattleRuleTable {
+
+  /**
+   * Test the win table of the reverse and fallen ace battle mode with the same modification
+   * agrees with its decorator chain for every pair of attack values.
+   */
+  @Test
+  public void testReverseAceSameMatchesDecorators() {
+    BattleRuleTable table = BattleRuleTable.forRules(BattleType.REVERSEANDACE, ModType.SAME);
+    for (int num1 = 0; num1 <= 10; num1 += 1) {
+      for (int num2 = 0; num2 <= 10; num2 += 1) {
+        IVariant battleDec = new SameDecorator(new ReverseBattleDecorator(
+                new FallenAceDecorator(new NormalBattleDecorator(num1, num2), num1, num2)),
+                num1, num2);
+        Assert.assertEquals("Checking " + num1 + " against " + num2 + ".",
+                battleDec.compareCard(),
+                table.beats(num1, num2));
+      }
+    }
+  }
+
+  /**
+   * Test the battle mode that is not set is the same as the normal battle mode.
+   */
+  @Test
+  public void testUnsetRulesAreNormal() {
+    Assert.assertSame("Checking the table of unset rules.",
+            BattleRuleTable.forRules(BattleType.NORMAL, ModType.NORMAL),
+            BattleRuleTable.forRules(null, null));
+    Assert.assertTrue("Checking a larger number wins.",
+            BattleRuleTable.forRules(null, null).beats(7, 3));
+  }
+
+  /**
+   * Test the fallen ace battle mode, where a 1 beats an A.
+   */
+  @Test
+  public void testFallenAce() {
+    BattleRuleTable table = BattleRuleTable.forRules(BattleType.ACE, ModType.NORMAL);
+    Assert.assertTrue("Checking 1 beats A.", table.beats(1, 10));
+    Assert.assertFalse("Checking A loses to 1.", table.beats(10, 1));
+  }
+}
@@ -0,0 +1,71 @@
+package gamefeatures;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import customer.gamefeatures.BattleType;
+import customer.gamefeatures.Card;
+import customer.gamefeatures.CardCatalog;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.DirectionType;
+import customer.gamefeatures.GameCard;
+import customer.gamefeatures.ModType;
+
+/**
+ * Tests about the card catalog.
+ */
+public class TestCardCatalog {
+
+  String filePathFive =
+          "src\\customer\\ConstructorFiles\\CardFile_5";
+
+  /**
+   * Test that every card of a card configuration file gets its own id.
+   */
+  @Test
+  public void testLoad() {
+    CardCatalog catalog = CardCatalog.load(filePathFive);
+    Assert.assertEquals("Checking the number of card definitions.",
+            10,
+            catalog.size());
+  }
+
+  /**
+   * Test that the same definition gets the same id whatever the color of the card.
+   */
+  @Test
+  public void testInternSameDefinition() {
+    CardCatalog catalog = new CardCatalog();
+    int red = catalog.intern(new GameCard("WindBird", "RED", 4, 5, 7, 10));
+    int blue = catalog.intern(new GameCard("WindBird", "BLUE", 4, 5, 7, 10));
+    int other = catalog.intern(new GameCard("WindBird", "RED", 4, 5, 7, 9));
+    Assert.assertEquals("Checking the same definition has the same id.", red, blue);
+    Assert.assertNotEquals("Checking another definition has another id.", red, other);
+    Assert.assertEquals("Checking the number of card definitions.", 2, catalog.size());
+  }
+
+  /**
+   * Test that a card built from its code is the same card, and that flipping the code
+   * only changes the owner.
+   */
+  @Test
+  public void testCodeRoundTrip() {
+    CardCatalog catalog = new CardCatalog();
+    Card card = new GameCard("WindBird", "BLUE", 4, 5, 7, 10);
+    card.setBattleType(BattleType.REVERSE);
+    card.setModType(ModType.SAME);
+    int code = catalog.codeOf(card);
+    Card built = catalog.card(code);
+    Assert.assertEquals("Checking the card is built again.", card.toString(), built.toString());
+    Assert.assertEquals("Checking the color of the card.", ColorType.BLUE, built.getColorType());
+    Assert.assertEquals("Checking the battle type of the card.",
+            BattleType.REVERSE, built.getBattleType());
+    Assert.assertEquals("Checking the modification type of the card.",
+            ModType.SAME, built.getModType());
+    Card flipped = catalog.card(CardCatalog.flip(code));
+    Assert.assertEquals("Checking the color of the flipped card.",
+            ColorType.RED, flipped.getColorType());
+    Assert.assertEquals("Checking the flipped card keeps its values.",
+            10, flipped.getNum(DirectionType.WEST));
+  }
+}
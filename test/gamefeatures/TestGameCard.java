@@ -7,6 +7,8 @@ import java.util.List;
 
 import customer.fileoperation.CardFileReader;
 import customer.gamefeatures.Card;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.DirectionType;
 import customer.gamefeatures.GameCard;
 
 /**
@@ -77,6 +79,30 @@ public class TestGameCard {
             !firstCompare && secondCompare);
   }
 
+  /**
+   * Test the compare method taking a direction type gives the same result
+   * as the compare method taking the direction in String.
+   */
+  @Test
+  public void testCompareWithDirectionType() {
+    Assert.assertEquals("Checking the compare method with north.",
+            card1.compare(card2, "north"),
+            card1.compare(card2, DirectionType.NORTH));
+    Assert.assertEquals("Checking the compare method with west.",
+            card1.compare(card2, "west"),
+            card1.compare(card2, DirectionType.WEST));
+  }
+
+  /**
+   * Test the color type of the card is updated when the color is reversed.
+   */
+  @Test
+  public void testReverseColorType() {
+    card2.reverseColor();
+    Assert.assertEquals("Checking the reverseColor method,", ColorType.RED,
+            card2.getColorType());
+  }
+
   /**
    * Test compare when there equal ATK value appears.
    */
@@ -274,4 +274,28 @@ public class TestGameGrid {
             gameGrid.hasCard(6, 1));
   }
 
+
+  /**
+   * Test the open cell index visits the empty card cells in order,
+   * and is updated when cards are played and removed.
+   */
+  @Test
+  public void testNextOpenCell() {
+    IGameGrid grid = new ConfigurationReader().buildGridUsingConfigFile(filePathOne);
+    int visited = 0;
+    for (int cell = grid.nextOpenCell(0); cell >= 0; cell = grid.nextOpenCell(cell + 1)) {
+      Assert.assertTrue("Checking the cell is empty.",
+              grid.isOpen(cell % grid.getCol(), cell / grid.getCol()));
+      visited += 1;
+    }
+    Assert.assertEquals("Checking every empty cell is visited.",
+            grid.getCells(),
+            visited);
+    Assert.assertEquals("Checking the first empty cell.", 0, grid.nextOpenCell(0));
+    grid.playToGrid(new GameCard("WindBird", "BLUE", 4, 5, 7, 10), 0, 0);
+    Assert.assertEquals("Checking the played cell is skipped.", 1, grid.nextOpenCell(0));
+    Assert.assertFalse("Checking a hole is not open.", grid.isOpen(2, 0));
+    grid.removeFromGrid(0, 0);
+    Assert.assertEquals("Checking the removed cell is open again.", 0, grid.nextOpenCell(0));
+  }
 }
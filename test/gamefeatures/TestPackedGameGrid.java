@@ -0,0 +1,133 @@
+package gamefeatures;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import customer.fileoperation.ConfigurationReader;
+import customer.gamefeatures.BattleType;
+import customer.gamefeatures.Card;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.DirectionType;
+import customer.gamefeatures.GameCard;
+import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.ModType;
+import customer.gamefeatures.PackedGameGrid;
+
+/**
+ * Tests about the packed game grid.
+ */
+public class TestPackedGameGrid {
+
+  String filePathOne =
+          "src\\customer\\ConstructorFiles\\GridFile_1";
+  String filePathTen =
+          "src\\customer\\ConstructorFiles\\GridFile_10";
+
+  /**
+   * Test whether the packed grid has the same layout as the normal grid
+   * built from the same configuration file.
+   */
+  @Test
+  public void testSameLayoutAsGameGrid() {
+    IGameGrid grid = new ConfigurationReader().buildGridUsingConfigFile(filePathTen);
+    IGameGrid packed = new ConfigurationReader().buildPackedGridUsingConfigFile(filePathTen);
+    Assert.assertEquals("Checking the string format of the packed grid.",
+            grid.toString(),
+            packed.toString());
+    Assert.assertEquals("Checking the cell number of the packed grid.",
+            grid.getCells(),
+            packed.getCells());
+  }
+
+  /**
+   * Test the method playToGrid and hasCard.
+   */
+  @Test
+  public void testSuccessPlayToGrid() {
+    IGameGrid gameGrid = new ConfigurationReader().buildPackedGridUsingConfigFile(filePathOne);
+    int cellNum = gameGrid.getCells();
+    Card card1 = new GameCard("WindBird", "BLUE", 4, 5, 7, 10);
+    gameGrid.playToGrid(card1, 6, 1);
+    Card played = gameGrid.getCard(6, 1);
+    Assert.assertTrue("Checking whether the card has be successfully played to grid, " +
+                    "and the number of available cells has be updated.",
+            played.getName().equals("WindBird") && gameGrid.hasCard(6, 1)
+                    && (gameGrid.getCells() == cellNum - 1));
+    Assert.assertEquals("Checking the attack values are kept.",
+            card1.toString(),
+            played.toString());
+  }
+
+  /**
+   * Test when a player wants to play card to a hole,
+   * expect an IllegalArgumentException to be thrown.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testPlayToHole() {
+    IGameGrid gameGrid = new ConfigurationReader().buildPackedGridUsingConfigFile(filePathOne);
+    gameGrid.playToGrid(new GameCard("WindBird", "BLUE", 4, 5, 7, 10), 2, 0);
+  }
+
+  /**
+   * Test flipping a card, both with and without the Card[][] view of the grid being built.
+   */
+  @Test
+  public void testFlipCard() {
+    IGameGrid gameGrid = new ConfigurationReader().buildPackedGridUsingConfigFile(filePathOne);
+    gameGrid.playToGrid(new GameCard("WindBird", "BLUE", 4, 5, 7, 10), 6, 1);
+    gameGrid.flipCard(6, 1);
+    Assert.assertEquals("Checking the flipped color.",
+            "RED",
+            gameGrid.getCard(6, 1).getColor());
+    Card[][] view = gameGrid.getGrid();
+    gameGrid.flipCard(6, 1);
+    Assert.assertEquals("Checking the flipped color in the view.",
+            "BLUE",
+            view[1][6].getColor());
+  }
+
+  /**
+   * Test a copy of the packed grid does not change with the original grid.
+   */
+  @Test
+  public void testCopyIsIndependent() {
+    IGameGrid gameGrid = new ConfigurationReader().buildPackedGridUsingConfigFile(filePathOne);
+    IGameGrid copy = new PackedGameGrid(gameGrid);
+    gameGrid.playToGrid(new GameCard("WindBird", "BLUE", 4, 5, 7, 10), 6, 1);
+    Assert.assertFalse("Checking the copy does not have the card.",
+            copy.hasCard(6, 1));
+  }
+
+  /**
+   * Test the battle on packed cells gives the same result as comparing the cards,
+   * for every battle rule and direction.
+   */
+  @Test
+  public void testBeatsSameAsCompare() {
+    Card defender = new GameCard("CorruptKing", "BLUE", 1, 10, 5, 3);
+    int packedDefender = PackedGameGrid.pack(defender);
+    Assert.assertEquals("Checking the owner of the packed card.",
+            ColorType.BLUE, PackedGameGrid.owner(packedDefender));
+    Assert.assertEquals("Checking the attack value of the packed card.",
+            5, PackedGameGrid.attack(packedDefender, DirectionType.EAST));
+    BattleType[] battleTypes = {null, BattleType.NORMAL, BattleType.REVERSE, BattleType.ACE,
+        BattleType.REVERSEANDACE};
+    ModType[] modTypes = {null, ModType.NORMAL, ModType.SAME};
+    for (BattleType battleType : battleTypes) {
+      for (ModType modType : modTypes) {
+        for (String color : new String[]{"RED", "BLUE"}) {
+          Card attacker = new GameCard("WindBird", color, 1, 10, 5, 1);
+          attacker.setBattleType(battleType);
+          attacker.setModType(modType);
+          int packedAttacker = PackedGameGrid.pack(attacker);
+          for (DirectionType direction : DirectionType.values()) {
+            Assert.assertEquals("Checking the packed battle " + battleType + " " + modType
+                            + " " + color + " " + direction + ".",
+                    attacker.compare(defender, direction),
+                    PackedGameGrid.beats(packedAttacker, packedDefender, direction));
+          }
+        }
+      }
+    }
+  }
+}
@@ -1,9 +1,22 @@
 package model;
 
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import org.junit.Assert;
 import org.junit.Test;
 
 import customer.gamefeatures.Card;
+import customer.gamefeatures.CardCatalog;
+import customer.gamefeatures.ColorType;
+import customer.gamefeatures.IPlayer;
+import customer.model.BoardSnapshot;
+import customer.model.ConcurrentThreeTriosModel;
+import customer.model.ReadonlyThreeTriosModel;
 import customer.model.ThreeTriosGameModel;
 import customer.model.ThreeTriosModel;
 
@@ -156,5 +169,426 @@ public class ModelTest {
     }
   }
 
+  /**
+   * Test applying a move and undoing it brings the model back to the state before the move.
+   */
+  @Test
+  public void testApplyAndUndoMove() {
+    ThreeTriosModel model = new ThreeTriosGameModel();
+    model.startGame(
+            "src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    model.applyMove(0, 0, 0, model.getPlayerA());
+    String gridBefore = model.getGameGrid().toString();
+    Card firstCard = model.getPlayerB().getHand().get(0);
+    int cellsBefore = model.getGameGrid().getCells();
+    model.applyMove(0, 0, 1, model.getPlayerB());
+    Assert.assertEquals("Checking the turn is passed after the move.",
+            "RED",
+            model.getCurrentPlayer());
+    model.undoMove();
+    Assert.assertEquals("Checking the grid after undo.",
+            gridBefore,
+            model.getGameGrid().toString());
+    Assert.assertEquals("Checking the cell number after undo.",
+            cellsBefore,
+            model.getGameGrid().getCells());
+    Assert.assertSame("Checking the card is back to the same index in hand.",
+            firstCard,
+            model.getPlayerB().getHand().get(0));
+    Assert.assertEquals("Checking the turn after undo.",
+            "BLUE",
+            model.getCurrentPlayer());
+  }
+
+  /**
+   * Test the move record keeps the cells flipped in the battle.
+   */
+  @Test
+  public void testApplyMoveRecordsFlips() {
+    ThreeTriosModel model = new ThreeTriosGameModel();
+    model.startGame(
+            "src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    model.applyMove(0, 0, 0, model.getPlayerA());
+    int redBefore = model.countCardOnGrid("RED");
+    int flips = model.applyMove(0, 0, 1, model.getPlayerB()).getFlips().size();
+    Assert.assertEquals("Checking the number of flipped cells.",
+            redBefore - flips,
+            model.countCardOnGrid("RED"));
+  }
+
+  /**
+   * Test the score counters of the model stay the same as the cards on the grid
+   * after moves are played and undone.
+   */
+  @Test
+  public void testScoreCountersMatchGrid() {
+    ThreeTriosModel model = new ThreeTriosGameModel();
+    model.startGame(
+            "src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    model.applyMove(0, 0, 0, model.getPlayerA());
+    model.applyMove(0, 0, 1, model.getPlayerB());
+    model.applyMove(0, 1, 1, model.getPlayerA());
+    Assert.assertEquals("Checking the red score.",
+            countOnGrid(model, 'R'),
+            model.getAPlayerScore(model.getPlayerA()));
+    Assert.assertEquals("Checking the blue count.",
+            countOnGrid(model, 'B'),
+            model.countCardOnGrid("BLUE"));
+    model.undoMove();
+    model.undoMove();
+    Assert.assertEquals("Checking the red count after undo.",
+            1,
+            model.countCardOnGrid("RED"));
+    Assert.assertEquals("Checking the blue count after undo.",
+            0,
+            model.countCardOnGrid("BLUE"));
+  }
+
+  /**
+   * Test a game on a packed grid, which battles on the packed cells, flips the same cards
+   * and keeps the same hash as a game on a normal grid.
+   */
+  @Test
+  public void testPackedGridBattle() {
+    ThreeTriosModel normal = new ThreeTriosGameModel(new Random(1), false);
+    ThreeTriosModel packed = new ThreeTriosGameModel(new Random(1), true);
+    for (ThreeTriosModel model : new ThreeTriosModel[]{normal, packed}) {
+      model.startGame(
+              "src\\customer\\ConstructorFiles\\GridFile_11",
+              "src\\customer\\ConstructorFiles\\CardFile_5",
+              false);
+    }
+    int cols = normal.getGameGrid().getCol();
+    boolean red = true;
+    int flips = 0;
+    while (!normal.isOver()) {
+      // play the last card of the hand, to the last open cell
+      int cell = -1;
+      for (int open = normal.getGameGrid().nextOpenCell(0); open >= 0;
+           open = normal.getGameGrid().nextOpenCell(open + 1)) {
+        cell = open;
+      }
+      for (ThreeTriosModel model : new ThreeTriosModel[]{normal, packed}) {
+        IPlayer mover = red ? model.getPlayerA() : model.getPlayerB();
+        model.applyMove(mover.getHand().size() - 1, cell / cols, cell % cols, mover);
+      }
+      Assert.assertEquals("Checking the same cards are flipped.",
+              normal.getLastFlipTrace(), packed.getLastFlipTrace());
+      Assert.assertEquals("Checking the same grid.",
+              normal.getGameGrid().toString(), packed.getGameGrid().toString());
+      Assert.assertEquals("Checking the same hash.",
+              normal.getPositionHash(), packed.getPositionHash());
+      flips += packed.getLastFlipTrace().size();
+      red = !red;
+    }
+    Assert.assertTrue("Checking cards were flipped.", flips > 0);
+  }
+
+  private int countOnGrid(ThreeTriosModel model, char color) {
+    int count = 0;
+    for (char c : model.getGameGrid().toString().toCharArray()) {
+      if (c == color) {
+        count += 1;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Test the position hash is restored by undo, kept by a copy, and the same
+   * when the same position is reached in a different order.
+   */
+  @Test
+  public void testPositionHash() {
+    ThreeTriosGameModel model = new ThreeTriosGameModel();
+    model.startGame(
+            "src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    long initial = model.getPositionHash();
+    model.applyMove(0, 0, 0, model.getPlayerA());
+    Assert.assertNotEquals("Checking the hash changes after a move.",
+            initial,
+            model.getPositionHash());
+    model.applyMove(0, 2, 2, model.getPlayerB());
+    model.applyMove(0, 0, 2, model.getPlayerA());
+    long reached = model.getPositionHash();
+    Assert.assertEquals("Checking the copy has the same hash.",
+            reached,
+            new ThreeTriosGameModel(model).getPositionHash());
+    model.undoMove();
+    model.undoMove();
+    model.undoMove();
+    Assert.assertEquals("Checking the hash after undo.",
+            initial,
+            model.getPositionHash());
+
+    // the same cards on the same cells, played in another order
+    model.applyMove(1, 0, 2, model.getPlayerA());
+    model.applyMove(0, 2, 2, model.getPlayerB());
+    model.applyMove(0, 0, 0, model.getPlayerA());
+    Assert.assertEquals("Checking the hash of the same position.",
+            reached,
+            model.getPositionHash());
+  }
+
+  /**
+   * Test the symmetries found from the hole layout, and that positions turned by a symmetry
+   * have the same canonical hash.
+   */
+  @Test
+  public void testGridSymmetry() {
+    ThreeTriosGameModel square = new ThreeTriosGameModel();
+    square.startGame(
+            "src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_7",
+            false);
+    Assert.assertEquals("Checking a square grid without holes.",
+            8,
+            square.getSymmetry().size());
+    ThreeTriosGameModel holes = new ThreeTriosGameModel();
+    holes.startGame(
+            "src\\customer\\ConstructorFiles\\GridFile_10",
+            "src\\customer\\ConstructorFiles\\CardFile_6",
+            false);
+    Assert.assertEquals("Checking a grid whose holes have no symmetry.",
+            1,
+            holes.getSymmetry().size());
+
+    // the cards of this file have the same value on every side
+    ThreeTriosGameModel turned = new ThreeTriosGameModel(square);
+    square.applyMove(0, 0, 0, square.getPlayerA());
+    turned.applyMove(0, 2, 2, turned.getPlayerA());
+    Assert.assertNotEquals("Checking the positions are different.",
+            square.getPositionHash(),
+            turned.getPositionHash());
+    Assert.assertEquals("Checking the canonical hash of the turned position.",
+            square.getCanonicalHash(),
+            turned.getCanonicalHash());
+    long canonical = square.getCanonicalHash();
+    square.applyMove(0, 1, 1, square.getPlayerB());
+    square.undoMove();
+    Assert.assertEquals("Checking the canonical hash after undo.",
+            canonical,
+            square.getCanonicalHash());
+    Assert.assertEquals("Checking the canonical hash of a copy.",
+            canonical,
+            square.copyGameModel().getCanonicalHash());
+  }
 
+  /**
+   * Test the flip counts of every cell at once match the flip count of each cell.
+   */
+  @Test
+  public void testFlipCounts() {
+    ThreeTriosGameModel model = new ThreeTriosGameModel();
+    model.startGame(
+            "src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    model.applyMove(0, 0, 1, model.getPlayerA());
+    model.applyMove(0, 1, 0, model.getPlayerB());
+    model.applyMove(0, 2, 1, model.getPlayerA());
+    long hashBefore = model.getPositionHash();
+    int[][] counts = model.getFlipCounts(1, model.getPlayerB());
+    Assert.assertEquals("Checking the model is unchanged.", hashBefore, model.getPositionHash());
+    Assert.assertEquals("Checking an occupied cell.", -1, counts[0][1]);
+    for (int row = 0; row < 3; row += 1) {
+      for (int col = 0; col < 3; col += 1) {
+        if (model.getGameGrid().isOpen(col, row)) {
+          Assert.assertEquals("Checking the count at " + row + ", " + col,
+                  model.getNumCardsCanFlip(1, row, col, model.getPlayerB()),
+                  counts[row][col]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Test the turn completion is completed when the player moves, and a new one
+   * starts with the next turn.
+   */
+  @Test
+  public void testTurnCompletion() {
+    ThreeTriosGameModel model = new ThreeTriosGameModel();
+    model.startGame(
+            "src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    CompletableFuture<ColorType> turn = model.getTurnCompletion();
+    Assert.assertFalse("Checking the turn has not ended.", turn.isDone());
+    model.playToGrid(0, 0, 0, model.getPlayerA());
+    model.setCurrentPlayerMoved(true);
+    Assert.assertEquals("Checking the turn ended for red.", ColorType.RED, turn.join());
+    model.switchToNextPlayer();
+    Assert.assertFalse("Checking the next turn has not ended.",
+            model.getTurnCompletion().isDone());
+  }
+
+  /**
+   * Test that a reader of the concurrent model always sees a whole move while another thread
+   * plays the game: the cards on the grid and in both hands of every snapshot add up to the
+   * same number, and a snapshot taken before a move does not change after it.
+   */
+  @Test
+  public void testConcurrentModel() throws InterruptedException {
+    ConcurrentThreeTriosModel model = new ConcurrentThreeTriosModel(new ThreeTriosGameModel());
+    model.startGame(
+            "src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    ReadonlyThreeTriosModel first = model.getSnapshot();
+    int total = cardCount(first);
+    AtomicBoolean torn = new AtomicBoolean(false);
+    AtomicBoolean playing = new AtomicBoolean(true);
+    Thread reader = new Thread(() -> {
+      while (playing.get()) {
+        if (cardCount(model.getSnapshot()) != total) {
+          torn.set(true);
+        }
+      }
+    });
+    reader.start();
+    while (!model.isOver()) {
+      Card[][] grid = model.getCopyOfGameGrid();
+      IPlayer mover = model.getCurrentPlayerColor() == ColorType.RED
+              ? model.getPlayerA() : model.getPlayerB();
+      boolean played = false;
+      for (int row = 0; row < grid.length && !played; row += 1) {
+        for (int col = 0; col < grid[row].length && !played; col += 1) {
+          if (grid[row][col] != null && grid[row][col].getName().equals("C")) {
+            model.applyMove(0, row, col, mover);
+            played = true;
+          }
+        }
+      }
+    }
+    playing.set(false);
+    reader.join();
+    Assert.assertFalse("Checking no snapshot was seen in the middle of a move.", torn.get());
+    Assert.assertEquals("Checking the first snapshot did not change.", 0,
+            first.getAPlayerScore(first.getPlayerA()) + first.getAPlayerScore(first.getPlayerB()));
+    Assert.assertEquals("Checking the player kept shows the latest hand.",
+            model.getSnapshot().getPlayerA().getHand().size(),
+            model.getPlayerA().getHand().size());
+  }
+
+  /**
+   * Test that a board snapshot does not change after moves, that the versions made by the moves
+   * match a snapshot made from scratch, and that undoing a move gives back the version before.
+   */
+  @Test
+  public void testBoardSnapshot() {
+    ThreeTriosGameModel model = new ThreeTriosGameModel();
+    model.startGame(
+            "src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    BoardSnapshot first = model.getBoardSnapshot();
+    model.applyMove(0, 0, 0, model.getPlayerA());
+    BoardSnapshot second = model.getBoardSnapshot();
+    model.applyMove(0, 0, 1, model.getPlayerB());
+    Assert.assertTrue("Checking the first version still has the cell empty.",
+            first.isOpen(0, 0));
+    Assert.assertEquals("Checking the first version still has the whole hand.",
+            5, first.getHandSize(ColorType.RED));
+    Assert.assertEquals("Checking the first version still has red to move.",
+            ColorType.RED, first.getCurrentTurn());
+    BoardSnapshot latest = model.getBoardSnapshot();
+    BoardSnapshot fresh = model.copyGameModel().getBoardSnapshot();
+    Card[][] freshGrid = fresh.toGrid();
+    Card[][] latestGrid = latest.toGrid();
+    for (int row = 0; row < freshGrid.length; row += 1) {
+      for (int col = 0; col < freshGrid[row].length; col += 1) {
+        Assert.assertEquals("Checking the cell matches a snapshot made from scratch.",
+                freshGrid[row][col] + " " + freshGrid[row][col].getColor(),
+                latestGrid[row][col] + " " + latestGrid[row][col].getColor());
+      }
+    }
+    Assert.assertEquals("Checking the red score matches a snapshot made from scratch.",
+            fresh.countCardOnGrid(ColorType.RED), latest.countCardOnGrid(ColorType.RED));
+    Assert.assertEquals("Checking the hand matches a snapshot made from scratch.",
+            fresh.getHand(ColorType.BLUE).toString(), latest.getHand(ColorType.BLUE).toString());
+    model.undoMove();
+    Assert.assertSame("Checking undo gives back the version before the move.",
+            second, model.getBoardSnapshot());
+  }
+
+  /**
+   * Test that a move made with playAndBattle on the concurrent model is published as one
+   * version: every version a reader sees while another thread plays the game is a position
+   * after a whole move, never the card played but not battled yet.
+   */
+  @Test
+  public void testConcurrentPlayAndBattle() throws InterruptedException {
+    ConcurrentThreeTriosModel model = new ConcurrentThreeTriosModel(new ThreeTriosGameModel());
+    ThreeTriosGameModel reference = new ThreeTriosGameModel();
+    for (ThreeTriosModel game : new ThreeTriosModel[]{model, reference}) {
+      game.startGame(
+              "src\\customer\\ConstructorFiles\\GridFile_11",
+              "src\\customer\\ConstructorFiles\\CardFile_5",
+              false);
+    }
+    Set<String> whole = new HashSet<>();
+    whole.add(positionOf(reference.getBoardSnapshot()));
+    Set<String> seen = ConcurrentHashMap.newKeySet();
+    AtomicBoolean playing = new AtomicBoolean(true);
+    Thread reader = new Thread(() -> {
+      while (playing.get()) {
+        seen.add(positionOf(model.getBoardSnapshot()));
+      }
+    });
+    reader.start();
+    while (!model.isOver()) {
+      BoardSnapshot board = model.getBoardSnapshot();
+      int cell = 0;
+      while (!board.isOpen(cell / board.getCol(), cell % board.getCol())) {
+        cell += 1;
+      }
+      IPlayer mover = model.getCurrentPlayerColor() == ColorType.RED
+              ? model.getPlayerA() : model.getPlayerB();
+      IPlayer referenceMover = model.getCurrentPlayerColor() == ColorType.RED
+              ? reference.getPlayerA() : reference.getPlayerB();
+      model.playAndBattle(0, cell / board.getCol(), cell % board.getCol(), mover);
+      model.switchToNextPlayer();
+      reference.playAndBattle(0, cell / board.getCol(), cell % board.getCol(), referenceMover);
+      reference.switchToNextPlayer();
+      whole.add(positionOf(reference.getBoardSnapshot()));
+    }
+    playing.set(false);
+    reader.join();
+    for (String position : seen) {
+      Assert.assertTrue("Checking every version seen is a position after a whole move.",
+              whole.contains(position));
+    }
+  }
+
+  /**
+   * The owners of the cards on the grid and the sizes of both hands of a version.
+   */
+  private static String positionOf(BoardSnapshot board) {
+    StringBuilder position = new StringBuilder();
+    for (int row = 0; row < board.getRow(); row += 1) {
+      for (int col = 0; col < board.getCol(); col += 1) {
+        int code = board.getCardCode(row, col);
+        position.append(code < 0 ? "_" : CardCatalog.owner(code).name().substring(0, 1));
+      }
+    }
+    return position + " " + board.getHandSize(ColorType.RED) + " "
+            + board.getHandSize(ColorType.BLUE);
+  }
+
+  /**
+   * The number of cards on the grid and in both hands of a model.
+   */
+  private static int cardCount(ReadonlyThreeTriosModel model) {
+    return model.getAPlayerScore(model.getPlayerA()) + model.getAPlayerScore(model.getPlayerB())
+            + model.getPlayerA().getHand().size() + model.getPlayerB().getHand().size();
+  }
 }
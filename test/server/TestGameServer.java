@@ -0,0 +1,121 @@
+package server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import customer.server.GameServer;
+import customer.server.GameState;
+
+/**
+ * Test class for the GameServer hosting many games at once.
+ */
+public class TestGameServer {
+  private static final String GRID = "src\\customer\\ConstructorFiles\\GridFile_11";
+  private static final String CARDS = "src\\customer\\ConstructorFiles\\CardFile_5";
+
+  /**
+   * Test the moves of many games submitted at once are each run in order.
+   */
+  @Test
+  public void testManyGames() {
+    GameServer server = new GameServer(4);
+    List<CompletableFuture<GameState>> finished = new ArrayList<>();
+    for (int game = 0; game < 2000; game += 1) {
+      String gameId = server.createGame(GRID, CARDS, false).join().getGameId();
+      CompletableFuture<GameState> last = null;
+      // every move is submitted without waiting for the one before it
+      for (int cell = 0; cell < 9; cell += 1) {
+        last = server.playToGrid(gameId, 0, cell / 3, cell % 3, cell % 2 == 0 ? "RED" : "BLUE");
+      }
+      finished.add(last);
+    }
+    Assert.assertEquals("Checking the games are hosted.", 2000, server.getGameCount());
+    for (CompletableFuture<GameState> future : finished) {
+      GameState state = future.join();
+      Assert.assertTrue("Checking the game is over.", state.isOver());
+      Assert.assertEquals("Checking every cell is full.",
+              9,
+              state.getRedScore() + state.getBlueScore());
+    }
+    server.shutdown();
+  }
+
+  /**
+   * Test a move out of turn fails without changing the game.
+   */
+  @Test
+  public void testMoveOutOfTurn() {
+    GameServer server = new GameServer(1);
+    String gameId = server.createGame(GRID, CARDS, false).join().getGameId();
+    try {
+      server.playToGrid(gameId, 0, 0, 0, "BLUE").join();
+      Assert.fail("The move should fail.");
+    } catch (CompletionException e) {
+      Assert.assertTrue("Checking the error.", e.getCause() instanceof IllegalStateException);
+    }
+    GameState state = server.getState(gameId).join();
+    Assert.assertEquals("Checking the player to move.", "RED", state.getCurrentPlayer());
+    Assert.assertEquals("Checking the grid is empty.",
+            0,
+            state.getRedScore() + state.getBlueScore());
+    server.shutdown();
+  }
+
+  /**
+   * Test every command submitted before or after the server is shut down completes,
+   * the ones that did not run with an IllegalStateException.
+   */
+  @Test
+  public void testShutdownCompletesCommands() {
+    GameServer server = new GameServer(1);
+    List<String> gameIds = new ArrayList<>();
+    for (int game = 0; game < 50; game += 1) {
+      gameIds.add(server.createGame(GRID, CARDS, false).join().getGameId());
+    }
+    List<CompletableFuture<GameState>> submitted = new ArrayList<>();
+    for (String gameId : gameIds) {
+      for (int cell = 0; cell < 9; cell += 1) {
+        submitted.add(server.playToGrid(gameId, 0, cell / 3, cell % 3,
+                cell % 2 == 0 ? "RED" : "BLUE"));
+        submitted.add(server.getState(gameId));
+      }
+    }
+    submitted.add(server.createGame(GRID, CARDS, false));
+    server.shutdown();
+    submitted.add(server.createGame(GRID, CARDS, false));
+    submitted.add(server.getState(gameIds.get(0)));
+    int failed = 0;
+    for (CompletableFuture<GameState> future : submitted) {
+      Assert.assertTrue("Checking the command is completed.", future.isDone());
+      try {
+        future.join();
+      } catch (CompletionException e) {
+        Assert.assertTrue("Checking the error.",
+                e.getCause() instanceof IllegalStateException
+                        || e.getCause() instanceof IllegalArgumentException);
+        failed += 1;
+      }
+    }
+    Assert.assertTrue("Checking the commands after shutdown failed.", failed >= 2);
+  }
+
+  /**
+   * Test a game that does not exist cannot be played.
+   */
+  @Test
+  public void testUnknownGame() {
+    GameServer server = new GameServer(1);
+    try {
+      server.getState("game-0").join();
+      Assert.fail("The game should not be found.");
+    } catch (CompletionException e) {
+      Assert.assertTrue("Checking the error.", e.getCause() instanceof IllegalArgumentException);
+    }
+    server.shutdown();
+  }
+}
@@ -0,0 +1,87 @@
+package simulation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import customer.gamefeatures.BattleType;
+import customer.gamefeatures.ColorType;
+import customer.simulation.SimulationConfig;
+import customer.simulation.SimulationReport;
+import customer.simulation.SimulationRunner;
+
+/**
+ * Test class for the headless SimulationRunner.
+ */
+public class TestSimulationRunner {
+
+  private SimulationReport run(int games, int threads, BattleType battleType) {
+    SimulationConfig config = new SimulationConfig(
+            "src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            battleType, null, games, threads, true, 42);
+    return new SimulationRunner(config,
+            SimulationRunner.strategyFactory("alphabeta:2"),
+            SimulationRunner.strategyFactory("parallelmaxflip")).run();
+  }
+
+  /**
+   * Test every game is played to the end and counted once.
+   */
+  @Test
+  public void testEveryGameCounted() {
+    SimulationReport report = run(6, 3, null);
+    Assert.assertEquals("Checking the games.", 6, report.getGames());
+    Assert.assertEquals("Checking the wins and ties add up.",
+            6,
+            report.getWins(ColorType.RED) + report.getWins(ColorType.BLUE)
+                    + report.getTies());
+    Assert.assertTrue("Checking the moves are timed.",
+            report.getAverageMoveMillis(ColorType.RED) > 0);
+  }
+
+  /**
+   * Test the same seed gives the same results on any number of threads.
+   */
+  @Test
+  public void testSeededBatchRepeats() {
+    SimulationReport one = run(6, 1, BattleType.REVERSE);
+    SimulationReport three = run(6, 3, BattleType.REVERSE);
+    Assert.assertEquals("Checking the red wins.",
+            one.getWins(ColorType.RED),
+            three.getWins(ColorType.RED));
+    Assert.assertEquals("Checking the ties.", one.getTies(), three.getTies());
+    Assert.assertEquals("Checking the flips.",
+            one.getAverageFlips(ColorType.BLUE),
+            three.getAverageFlips(ColorType.BLUE),
+            1e-9);
+  }
+
+  /**
+   * Test the maxflip and corner strategies play whole games on a grid that is not square.
+   */
+  @Test
+  public void testMaxFlipAndCorner() {
+    SimulationConfig config = new SimulationConfig(
+            "src\\customer\\ConstructorFiles\\GridFile_10",
+            "src\\customer\\ConstructorFiles\\CardFile_6",
+            null, null, 4, 2, true, 42);
+    String[][] pairings = {{"maxflip", "corner"}, {"corner", "corner"}, {"corner", "maxflip"}};
+    for (String[] pairing : pairings) {
+      SimulationReport report = new SimulationRunner(config,
+              SimulationRunner.strategyFactory(pairing[0]),
+              SimulationRunner.strategyFactory(pairing[1])).run();
+      Assert.assertEquals("Checking the games of " + pairing[0] + " against " + pairing[1] + ".",
+              4,
+              report.getWins(ColorType.RED) + report.getWins(ColorType.BLUE)
+                      + report.getTies());
+    }
+  }
+
+  /**
+   * Test a batch without games is not allowed.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testNoGames() {
+    new SimulationConfig("grid", "card", null, null, 0, 1, false, 0);
+  }
+}
@@ -0,0 +1,137 @@
+package simulation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import customer.simulation.Elo;
+import customer.simulation.PairingResult;
+import customer.simulation.SimulationConfig;
+import customer.simulation.SimulationRunner;
+import customer.simulation.Sprt;
+import customer.simulation.Tournament;
+import customer.simulation.TournamentReport;
+
+/**
+ * Test class for the Tournament and its Elo and SPRT.
+ */
+public class TestTournament {
+
+  private TournamentReport run(int threads, Sprt sprt) {
+    SimulationConfig config = new SimulationConfig(
+            "src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            null, null, 8, threads, true, 7);
+    Tournament tournament = new Tournament(config, sprt);
+    tournament.addEntrant("alphabeta:1", SimulationRunner.strategyFactory("alphabeta:1"));
+    tournament.addEntrant("alphabeta:3", SimulationRunner.strategyFactory("alphabeta:3"));
+    tournament.addEntrant("parallelmaxflip",
+            SimulationRunner.strategyFactory("parallelmaxflip"));
+    return tournament.run();
+  }
+
+  /**
+   * Test every pairing is played, and the same seed gives the same results on any number
+   * of threads.
+   */
+  @Test
+  public void testReproducible() {
+    TournamentReport one = run(1, null);
+    TournamentReport four = run(4, null);
+    Assert.assertEquals("Checking the pairings.", 3, one.getPairings().size());
+    double total = 0;
+    for (int i = 0; i < 3; i += 1) {
+      PairingResult pairing = one.getPairings().get(i);
+      Assert.assertEquals("Checking the games.", 8, pairing.getGames());
+      Assert.assertEquals("Checking the same wins.",
+              pairing.getWins(),
+              four.getPairings().get(i).getWins());
+      total += one.getRating(one.getNames().get(i));
+    }
+    Assert.assertEquals("Checking the ratings average 0.", 0, total, 1e-6);
+    Assert.assertEquals("Checking the same rating.",
+            one.getRating("alphabeta:3"),
+            four.getRating("alphabeta:3"),
+            1e-9);
+  }
+
+  /**
+   * Test the maxflip and corner strategies are entrants that play every game of their
+   * pairings, on a grid that is not square.
+   */
+  @Test
+  public void testMaxFlipAndCornerEntrants() {
+    SimulationConfig config = new SimulationConfig(
+            "src\\customer\\ConstructorFiles\\GridFile_10",
+            "src\\customer\\ConstructorFiles\\CardFile_6",
+            null, null, 4, 2, true, 7);
+    Tournament tournament = new Tournament(config, null);
+    for (String name : new String[]{"maxflip", "corner", "alphabeta:1"}) {
+      tournament.addEntrant(name, SimulationRunner.strategyFactory(name));
+    }
+    TournamentReport report = tournament.run();
+    Assert.assertEquals("Checking the pairings.", 3, report.getPairings().size());
+    for (PairingResult pairing : report.getPairings()) {
+      Assert.assertEquals("Checking the games.", 4, pairing.getGames());
+    }
+  }
+
+  /**
+   * Test the games of a pairing must be an even number, as they are played in pairs.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testOddGames() {
+    new Tournament(new SimulationConfig("grid", "card", null, null, 3, 1, false, 0), null);
+  }
+
+  /**
+   * Test the SPRT accepts the hypothesis the results clearly favor.
+   */
+  @Test
+  public void testSprt() {
+    Sprt sprt = new Sprt(0, 20, 0.05, 0.05);
+    Assert.assertEquals("Checking a clear win.",
+            Sprt.Decision.ACCEPT_H1,
+            sprt.decide(900, 0, 100));
+    Assert.assertEquals("Checking a clear loss.",
+            Sprt.Decision.ACCEPT_H0,
+            sprt.decide(100, 0, 900));
+    Assert.assertEquals("Checking too few games.", Sprt.Decision.CONTINUE, sprt.decide(1, 1, 1));
+  }
+
+  /**
+   * Test the SPRT stops when one player wins every game, or every game is a tie.
+   */
+  @Test
+  public void testSprtOneSided() {
+    Sprt sprt = new Sprt(0, 20, 0.05, 0.05);
+    Assert.assertEquals("Checking one game is not enough.",
+            Sprt.Decision.CONTINUE,
+            sprt.decide(1, 0, 0));
+    Assert.assertEquals("Checking every game won.",
+            Sprt.Decision.ACCEPT_H1,
+            sprt.decide(20, 0, 0));
+    Assert.assertEquals("Checking every game lost.",
+            Sprt.Decision.ACCEPT_H0,
+            sprt.decide(0, 0, 20));
+    Assert.assertEquals("Checking every game tied.",
+            Sprt.Decision.ACCEPT_H0,
+            sprt.decide(0, 200, 0));
+  }
+
+  /**
+   * Test the Elo difference and the expected score are inverses, and the interval
+   * holds the difference.
+   */
+  @Test
+  public void testElo() {
+    Assert.assertEquals("Checking an even score.", 0.5, Elo.expectedScore(0), 1e-9);
+    Assert.assertEquals("Checking the inverse.",
+            100,
+            Elo.difference(Elo.expectedScore(100)),
+            1e-6);
+    double[] interval = Elo.interval(60, 10, 30);
+    double difference = Elo.difference(0.65);
+    Assert.assertTrue("Checking the interval.",
+            interval[0] < difference && difference < interval[1]);
+  }
+}
@@ -0,0 +1,155 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.IPlayer;
+import customer.model.BoardSnapshot;
+import customer.model.ConcurrentThreeTriosModel;
+import customer.model.ThreeTriosGameModel;
+import customer.model.ThreeTriosModel;
+import customer.strategiccomputerplayer.AlphaBetaStrategy;
+import customer.strategiccomputerplayer.Move;
+import customer.strategiccomputerplayer.Strategy;
+
+/**
+ * Test class for the AI based on the AlphaBetaStrategy.
+ */
+public class TestAlphaBetaStrategy {
+
+  private ThreeTriosModel startedModel() {
+    ThreeTriosModel model = new ThreeTriosGameModel();
+    model.startGame("src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    return model;
+  }
+
+  /**
+   * Plain minimax over every move, without pruning or table.
+   */
+  private int minimax(ThreeTriosModel model, IPlayer mover, IPlayer other) {
+    if (model.isOver() || mover.getHand().isEmpty()) {
+      return model.countCardOnGrid(mover.getColorType())
+              - model.countCardOnGrid(other.getColorType());
+    }
+    IGameGrid grid = model.getGameGrid();
+    int best = Integer.MIN_VALUE;
+    for (int i = 0; i < mover.getHand().size(); i += 1) {
+      for (int cell = grid.nextOpenCell(0); cell >= 0; cell = grid.nextOpenCell(cell + 1)) {
+        model.applyMove(i, cell / grid.getCol(), cell % grid.getCol(), mover);
+        best = Math.max(best, -minimax(model, other, mover));
+        model.undoMove();
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Test the search is made on a copy, so a model shared with other threads never publishes
+   * a position of the search.
+   */
+  @Test
+  public void testSearchOnCopy() {
+    ConcurrentThreeTriosModel model = new ConcurrentThreeTriosModel(new ThreeTriosGameModel());
+    model.startGame("src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    BoardSnapshot before = model.getBoardSnapshot();
+    new AlphaBetaStrategy(model, 3).getBestMove(model.getPlayerA());
+    Assert.assertSame("Checking no position was published while searching.",
+            before, model.getBoardSnapshot());
+  }
+
+  /**
+   * Test the search leaves the model in the same position.
+   */
+  @Test
+  public void testModelUnchangedAfterSearch() {
+    ThreeTriosModel model = startedModel();
+    model.applyMove(0, 0, 0, model.getPlayerA());
+    String gridBefore = model.getGameGrid().toString();
+    long hashBefore = model.getPositionHash();
+    int handBefore = model.getPlayerB().getHand().size();
+    Strategy alphaBeta = new AlphaBetaStrategy(model, 4);
+    Move move = alphaBeta.getBestMove(model.getPlayerB());
+    Assert.assertTrue("Checking the move is to an empty cell.",
+            alphaBeta.ableToPlay(move.getPosition().y, move.getPosition().x));
+    Assert.assertEquals("Checking the grid.", gridBefore, model.getGameGrid().toString());
+    Assert.assertEquals("Checking the hash.", hashBefore, model.getPositionHash());
+    Assert.assertEquals("Checking the hand.",
+            handBefore,
+            model.getPlayerB().getHand().size());
+  }
+
+  /**
+   * Test searching to the end of the game gives the same value as plain minimax.
+   */
+  @Test
+  public void testSameValueAsMinimax() {
+    ThreeTriosModel model = startedModel();
+    model.applyMove(0, 0, 0, model.getPlayerA());
+    model.applyMove(0, 1, 1, model.getPlayerB());
+    model.applyMove(0, 2, 2, model.getPlayerA());
+    model.applyMove(0, 0, 2, model.getPlayerB());
+    int expected = minimax(model, model.getPlayerA(), model.getPlayerB());
+    Move move = new AlphaBetaStrategy(model, 9).getBestMove(model.getPlayerA());
+    Assert.assertEquals("Checking the value of the best move.",
+            expected,
+            move.getScore());
+  }
+
+  /**
+   * Test a search depth below one is not allowed.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidDepth() {
+    new AlphaBetaStrategy(startedModel(), 0);
+  }
+
+  /**
+   * Test a deadline that has already passed still gives a legal move,
+   * and a far deadline gives the same move as no deadline.
+   */
+  @Test
+  public void testDeadline() {
+    ThreeTriosModel model = startedModel();
+    model.applyMove(0, 0, 0, model.getPlayerA());
+    AlphaBetaStrategy alphaBeta = new AlphaBetaStrategy(model, 6);
+    Move passed = alphaBeta.getBestMove(model.getPlayerB(), System.nanoTime() - 1);
+    Assert.assertTrue("Checking the move is to an empty cell.",
+            alphaBeta.ableToPlay(passed.getPosition().y, passed.getPosition().x));
+    Move far = alphaBeta.getBestMove(model.getPlayerB(), System.nanoTime() + 60_000_000_000L);
+    Assert.assertEquals("Checking the move with a far deadline.",
+            new AlphaBetaStrategy(model, 6).getBestMove(model.getPlayerB()),
+            far);
+  }
+
+  /**
+   * Test searching the opponent's turn on a copy with the shared table does not
+   * change the move found on the real model, and a stopped search still gives a move.
+   */
+  @Test
+  public void testPonderOnCopy() {
+    ThreeTriosModel model = startedModel();
+    model.applyMove(0, 1, 1, model.getPlayerA());
+    AlphaBetaStrategy alphaBeta = new AlphaBetaStrategy(model, 4);
+    ThreeTriosModel copy = model.copyGameModel();
+    alphaBeta.withModel(copy, 5).getBestMove(copy.getPlayerB());
+    Assert.assertEquals("Checking the copy is searched without changing the model.",
+            model.getPositionHash(),
+            copy.getPositionHash());
+
+    model.applyMove(0, 0, 0, model.getPlayerB());
+    Assert.assertEquals("Checking the move with the pondered table.",
+            new AlphaBetaStrategy(model, 4).getBestMove(model.getPlayerA()),
+            alphaBeta.getBestMove(model.getPlayerA()));
+
+    AlphaBetaStrategy stopped = new AlphaBetaStrategy(model, 7);
+    stopped.stop();
+    Move move = stopped.getBestMove(model.getPlayerA());
+    Assert.assertTrue("Checking the stopped search gives a move to an empty cell.",
+            stopped.ableToPlay(move.getPosition().y, move.getPosition().x));
+  }
+}
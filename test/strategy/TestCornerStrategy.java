@@ -6,6 +6,7 @@ import org.junit.Test;
 import java.awt.Point;
 
 import customer.gamefeatures.Card;
+import customer.gamefeatures.IPlayer;
 import customer.model.ThreeTriosGameModel;
 import customer.model.ThreeTriosModel;
 import customer.strategiccomputerplayer.CornerStrategy;
@@ -106,4 +107,28 @@ public class TestCornerStrategy {
             move.getPosition());
   }
 
+  /**
+   * Test the moves are given as (row, col) on a grid that is not square, so that every move
+   * could be played and lands on the corner it was scored at.
+   */
+  @Test
+  public void testNonSquareGrid() {
+    ThreeTriosModel model = new ThreeTriosGameModel();
+    model.startGame("src\\customer\\ConstructorFiles\\GridFile_10",
+            "src\\customer\\ConstructorFiles\\CardFile_6",
+            false);
+    Strategy cornerStrategy = new CornerStrategy(model);
+    Move first = cornerStrategy.getBestMove(model.getPlayerA());
+    Assert.assertTrue("Check the first move is to a corner of the 3 x 6 grid.",
+            (first.getPosition().x == 0 || first.getPosition().x == 2)
+                    && (first.getPosition().y == 0 || first.getPosition().y == 5));
+    boolean red = true;
+    while (!model.isOver()) {
+      IPlayer mover = red ? model.getPlayerA() : model.getPlayerB();
+      Move move = cornerStrategy.getBestMove(mover);
+      model.applyMove(move.getCardIdx(), move.getPosition().x, move.getPosition().y, mover);
+      red = !red;
+    }
+    Assert.assertEquals("Check every card cell is filled.", 0, model.getGameGrid().getCells());
+  }
 }
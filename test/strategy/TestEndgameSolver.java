@@ -0,0 +1,79 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import customer.gamefeatures.IGameGrid;
+import customer.gamefeatures.IPlayer;
+import customer.model.ThreeTriosGameModel;
+import customer.model.ThreeTriosModel;
+import customer.strategiccomputerplayer.EndgameSolver;
+import customer.strategiccomputerplayer.MaxFlipStrategy;
+import customer.strategiccomputerplayer.Move;
+
+/**
+ * Test class for the exact endgame solver.
+ */
+public class TestEndgameSolver {
+
+  private ThreeTriosModel endgameModel() {
+    ThreeTriosModel model = new ThreeTriosGameModel();
+    model.startGame("src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    model.applyMove(0, 0, 0, model.getPlayerA());
+    model.applyMove(0, 1, 1, model.getPlayerB());
+    model.applyMove(0, 2, 2, model.getPlayerA());
+    model.applyMove(0, 0, 2, model.getPlayerB());
+    model.applyMove(0, 2, 0, model.getPlayerA());
+    return model;
+  }
+
+  /**
+   * The final margin of the game for the mover when both players play perfectly.
+   */
+  private int margin(ThreeTriosModel model, IPlayer mover, IPlayer other) {
+    if (model.isOver() || mover.getHand().isEmpty()) {
+      return model.countCardOnGrid(mover.getColorType())
+              - model.countCardOnGrid(other.getColorType());
+    }
+    IGameGrid grid = model.getGameGrid();
+    int best = Integer.MIN_VALUE;
+    for (int i = 0; i < mover.getHand().size(); i += 1) {
+      for (int cell = grid.nextOpenCell(0); cell >= 0; cell = grid.nextOpenCell(cell + 1)) {
+        model.applyMove(i, cell / grid.getCol(), cell % grid.getCol(), mover);
+        best = Math.max(best, -margin(model, other, mover));
+        model.undoMove();
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Test the solver gives the final margin of perfect play, and the move reaches it.
+   */
+  @Test
+  public void testSolveGivesPerfectMargin() {
+    ThreeTriosModel model = endgameModel();
+    int expected = margin(model, model.getPlayerB(), model.getPlayerA());
+    Move move = new EndgameSolver(model).solve(model.getPlayerB());
+    Assert.assertEquals("Checking the final margin.", expected, move.getScore());
+    model.applyMove(move.getCardIdx(), move.getPosition().x, move.getPosition().y,
+            model.getPlayerB());
+    Assert.assertEquals("Checking the move keeps the margin.",
+            expected,
+            -margin(model, model.getPlayerA(), model.getPlayerB()));
+  }
+
+  /**
+   * Test the strategies switch to the solver with few empty cells left.
+   */
+  @Test
+  public void testStrategyUsesSolver() {
+    ThreeTriosModel model = endgameModel();
+    Move solved = new EndgameSolver(model).solve(model.getPlayerB());
+    Assert.assertEquals("Checking the max flip strategy plays the solved move.",
+            solved,
+            new MaxFlipStrategy(model).getBestMove(model.getPlayerB()));
+  }
+}
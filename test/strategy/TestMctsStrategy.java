@@ -0,0 +1,69 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+import customer.model.ThreeTriosGameModel;
+import customer.model.ThreeTriosModel;
+import customer.strategiccomputerplayer.MctsStrategy;
+import customer.strategiccomputerplayer.Move;
+import customer.strategiccomputerplayer.PlayoutPolicy;
+import customer.strategiccomputerplayer.Strategy;
+
+/**
+ * Test class for the AI based on the MctsStrategy.
+ */
+public class TestMctsStrategy {
+
+  private ThreeTriosModel startedModel() {
+    ThreeTriosModel model = new ThreeTriosGameModel();
+    model.startGame("src\\customer\\ConstructorFiles\\GridFile_10",
+            "src\\customer\\ConstructorFiles\\CardFile_6",
+            false);
+    return model;
+  }
+
+  /**
+   * Test the search picks a legal move and leaves the model as it was.
+   */
+  @Test
+  public void testLegalMoveAndModelUnchanged() {
+    ThreeTriosModel model = startedModel();
+    String gridBefore = model.getGameGrid().toString();
+    long hashBefore = model.getPositionHash();
+    Strategy mcts = new MctsStrategy(model, 500, PlayoutPolicy.GREEDY, new Random(7));
+    Move move = mcts.getBestMove(model.getPlayerA());
+    Assert.assertTrue("Checking the move is to an empty cell.",
+            mcts.ableToPlay(move.getPosition().y, move.getPosition().x));
+    Assert.assertEquals("Checking the grid.", gridBefore, model.getGameGrid().toString());
+    Assert.assertEquals("Checking the hash.", hashBefore, model.getPositionHash());
+  }
+
+  /**
+   * Test the search gives the same move with the same seed.
+   */
+  @Test
+  public void testSameSeedSameMove() {
+    ThreeTriosModel model = startedModel();
+    Move first = new MctsStrategy(model, 300, PlayoutPolicy.RANDOM, new Random(42))
+            .getBestMove(model.getPlayerA());
+    Move second = new MctsStrategy(model, 300, PlayoutPolicy.RANDOM, new Random(42))
+            .getBestMove(model.getPlayerA());
+    Assert.assertEquals("Checking the moves are the same.", first, second);
+  }
+
+  /**
+   * Test the search stops at the time budget when the playout budget is too large.
+   */
+  @Test
+  public void testTimeBudget() {
+    ThreeTriosModel model = startedModel();
+    long start = System.currentTimeMillis();
+    new MctsStrategy(model, Integer.MAX_VALUE, 100, PlayoutPolicy.RANDOM, new Random(1))
+            .getBestMove(model.getPlayerA());
+    Assert.assertTrue("Checking the search stopped in time.",
+            System.currentTimeMillis() - start < 5000);
+  }
+}
@@ -0,0 +1,133 @@
+package strategy;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import customer.gamefeatures.BattleType;
+import customer.gamefeatures.Card;
+import customer.gamefeatures.ModType;
+import customer.model.ThreeTriosGameModel;
+import customer.model.ThreeTriosModel;
+import customer.strategiccomputerplayer.AlphaBetaStrategy;
+import customer.strategiccomputerplayer.MaxFlipStrategy;
+import customer.strategiccomputerplayer.Move;
+import customer.strategiccomputerplayer.OpeningBook;
+import customer.strategiccomputerplayer.OpeningBookGenerator;
+
+/**
+ * Test class for the OpeningBook and its generator.
+ */
+public class TestOpeningBook {
+
+  private ThreeTriosModel startedModel() {
+    ThreeTriosModel model = new ThreeTriosGameModel();
+    model.startGame("src\\customer\\ConstructorFiles\\GridFile_11",
+            "src\\customer\\ConstructorFiles\\CardFile_5",
+            false);
+    return model;
+  }
+
+  /**
+   * Test a strategy with the book plays the move the search found,
+   * and the model is in the same position after generating.
+   */
+  @Test
+  public void testPlayFromBook() {
+    ThreeTriosModel model = startedModel();
+    long hashBefore = model.getPositionHash();
+    OpeningBook book = new OpeningBookGenerator(model, 1, 3).generate();
+    Assert.assertEquals("Checking the book has the first position.", 1, book.size());
+    Assert.assertEquals("Checking the hash.", hashBefore, model.getPositionHash());
+
+    MaxFlipStrategy maxFlip = new MaxFlipStrategy(model);
+    maxFlip.setOpeningBook(book);
+    Move expected = new AlphaBetaStrategy(model, 3).getBestMove(model.getPlayerA());
+    Move booked = maxFlip.getBestMove(model.getPlayerA());
+    Assert.assertEquals("Checking the position of the move.",
+            expected.getPosition(),
+            booked.getPosition());
+    Assert.assertEquals("Checking the card of the move.",
+            expected.getCardIdx(),
+            booked.getCardIdx());
+
+    // positions not in the book are played the strategy's own way
+    model.applyMove(0, 1, 1, model.getPlayerA());
+    Assert.assertEquals("Checking a position out of the book.",
+            new MaxFlipStrategy(model).getBestMove(model.getPlayerB()),
+            maxFlip.getBestMove(model.getPlayerB()));
+  }
+
+  /**
+   * Test the book read back from its file has the same moves.
+   */
+  @Test
+  public void testSaveAndLoad() throws IOException {
+    ThreeTriosModel model = startedModel();
+    OpeningBook book = new OpeningBookGenerator(model, 2, 1).generate();
+    File file = File.createTempFile("book", ".bin");
+    file.deleteOnExit();
+    book.save(file.getPath());
+    OpeningBook loaded = OpeningBook.load(file.getPath(), null, null);
+    Assert.assertEquals("Checking the size.", book.size(), loaded.size());
+    OpeningBook.Entry entry = book.probe(model.getCanonicalHash());
+    OpeningBook.Entry loadedEntry = loaded.probe(model.getCanonicalHash());
+    Assert.assertEquals("Checking the card.", entry.getCardKey(), loadedEntry.getCardKey());
+    Assert.assertEquals("Checking the cell.", entry.getCell(), loadedEntry.getCell());
+    Assert.assertEquals("Checking the score.", entry.getScore(), loadedEntry.getScore());
+  }
+
+  /**
+   * Test a book is kept with the battle rules it was generated with, a book of other rules
+   * could not be loaded, and a strategy does not play from a book of other rules.
+   */
+  @Test
+  public void testBattleRules() throws IOException {
+    ThreeTriosModel model = startedModel();
+    for (Card card : model.getPlayerA().getHand()) {
+      card.setBattleType(BattleType.REVERSE);
+    }
+    for (Card card : model.getPlayerB().getHand()) {
+      card.setBattleType(BattleType.REVERSE);
+    }
+    OpeningBook book = new OpeningBookGenerator(model, 1, 1).generate();
+    File file = File.createTempFile("book", ".bin");
+    file.deleteOnExit();
+    book.save(file.getPath());
+    Assert.assertEquals("Checking the book is read back with the same rules.",
+            book.size(),
+            OpeningBook.load(file.getPath(), BattleType.REVERSE, ModType.NORMAL).size());
+    try {
+      OpeningBook.load(file.getPath(), BattleType.NORMAL, null);
+      Assert.fail("Checking a book of other rules is refused.");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+
+    MaxFlipStrategy reversed = new MaxFlipStrategy(model);
+    reversed.setOpeningBook(book);
+    Assert.assertEquals("Checking the book is played with its own rules.",
+            book.probe(model.getCanonicalHash()).getScore(),
+            reversed.getBestMove(model.getPlayerA()).getScore());
+
+    // the hash is the same without the rules, so only the rules keep the book from answering
+    ThreeTriosModel normal = startedModel();
+    Assert.assertNotNull("Checking the position is in the book.",
+            book.probe(normal.getCanonicalHash()));
+    MaxFlipStrategy maxFlip = new MaxFlipStrategy(normal);
+    maxFlip.setOpeningBook(book);
+    Assert.assertEquals("Checking the book is not played with other rules.",
+            new MaxFlipStrategy(normal).getBestMove(normal.getPlayerA()),
+            maxFlip.getBestMove(normal.getPlayerA()));
+  }
+
+  /**
+   * Test a book must cover at least one move.
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPlies() {
+    new OpeningBookGenerator(startedModel(), 0, 3);
+  }
+}
@@ -0,0 +1,47 @@
+package strategy;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import customer.model.ThreeTriosGameModel;
+import customer.model.ThreeTriosModel;
+import customer.strategiccomputerplayer.MaxFlipStrategy;
+import customer.strategiccomputerplayer.Move;
+import customer.strategiccomputerplayer.ParallelMaxFlipStrategy;
+
+/**
+ * Test class for the AI based on the ParallelMaxFlipStrategy.
+ */
+public class TestParallelMaxFlipStrategy {
+
+  /**
+   * Test the parallel strategy picks the same move as the sequential one
+   * through the first moves of a game.
+   */
+  @Test
+  public void testSameMoveAsMaxFlip() {
+    ThreeTriosModel model = new ThreeTriosGameModel();
+    model.startGame("src\\customer\\ConstructorFiles\\GridFile_10",
+            "src\\customer\\ConstructorFiles\\CardFile_6",
+            false);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int turn = 0; turn < 6; turn += 1) {
+        boolean red = turn % 2 == 0;
+        Move sequential = new MaxFlipStrategy(model)
+                .getBestMove(red ? model.getPlayerA() : model.getPlayerB());
+        Move parallel = new ParallelMaxFlipStrategy(model, pool)
+                .getBestMove(red ? model.getPlayerA() : model.getPlayerB());
+        Assert.assertEquals("Checking the move of turn " + turn + ".",
+                sequential,
+                parallel);
+        model.applyMove(parallel.getCardIdx(), parallel.getPosition().x,
+                parallel.getPosition().y, red ? model.getPlayerA() : model.getPlayerB());
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package view;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import customer.model.ThreeTriosGameModel;
+import customer.model.ThreeTriosModel;
+import customer.view.HintCalculator;
+
+/**
+ * Test the hints worked out in the background.
+ */
+public class HintCalculatorTest {
+
+  /**
+   * Check the hints are not ready at first, and once they are the same hints are
+   * given from the cache.
+   */
+  @Test
+  public void testHintsCached() throws Exception {
+    ThreeTriosModel model = new ThreeTriosGameModel();
+    model.startGame("src\\customer\\ConstructorFiles\\GridFile_10",
+            "src\\customer\\ConstructorFiles\\CardFile_6",
+            false);
+    model.applyMove(0, 0, 0, model.getPlayerA());
+    HintCalculator hints = new HintCalculator(model);
+    CountDownLatch ready = new CountDownLatch(1);
+    int[][][] first = new int[1][][];
+    SwingUtilities.invokeAndWait(() ->
+            first[0] = hints.request(0, model.getPlayerB(), ready::countDown));
+    Assert.assertNull("Checking the hints are worked out in the background.", first[0]);
+    Assert.assertTrue("Checking the hints are posted back.", ready.await(10, TimeUnit.SECONDS));
+
+    int[][][] cached = new int[1][][];
+    SwingUtilities.invokeAndWait(() ->
+            cached[0] = hints.request(0, model.getPlayerB(), () -> { }));
+    Assert.assertArrayEquals("Checking the cached hints.",
+            model.getFlipCounts(0, model.getPlayerB()),
+            cached[0]);
+  }
+}